@@ -6,6 +6,9 @@ import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
 import net.neoforged.neoforge.common.ModConfigSpec;
 
+import com.zidiansyncs.ghasttopia.network.VariantSyncMode;
+import com.zidiansyncs.ghasttopia.texture.SpecialNames;
+
 // An example config class. This is not required, but it's a good idea to have one to keep your config organized.
 // Demonstrates how to use Neo's config APIs
 public class Config {
@@ -28,6 +31,78 @@ public class Config {
             .comment("A list of items to log on common setup.")
             .defineListAllowEmpty("items", List.of("minecraft:iron_ingot"), () -> "", Config::validateItemName);
 
+    // Who receives texture variant updates (TRACKING scales with local ghast density instead of players x ghasts)
+    // ENTITY_DATA is the default: the variant arrives atomically with the entity, which is all rendering needs.
+    // The packet modes are opt-in for servers that want clients to hold variants of ghasts they cannot see;
+    // the palette, paced bulk sync, send budget, digest, persistent cache, journal, requests and inbox only run in
+    // those modes. Their payload types stay registered in every mode, so clients and servers agree on channels
+    // whatever mode the server picks.
+    public static final ModConfigSpec.EnumValue<VariantSyncMode> VARIANT_SYNC_MODE = BUILDER
+            .comment("How Happy Ghast texture variant updates are sent to clients.",
+                     "ENTITY_DATA (default): variants travel with the ghast's synced entity data only; no sync packets are sent.",
+                     "  Clients see the correct texture for every ghast they render, with no extra traffic.",
+                     "TRACKING: sync packets also replicate variants to players tracking the ghast; pushed when tracking starts.",
+                     "  Enables the client variant store, persistent client cache, paced login sync and digest repair.",
+                     "ALL_PLAYERS: sync packets are broadcast to every online player (legacy behaviour).")
+            .defineEnum("variantSyncMode", VariantSyncMode.ENTITY_DATA);
+
+    // Bulk syncs (join, level load) are streamed in frames instead of one payload holding every variant
+    public static final ModConfigSpec.IntValue BULK_SYNC_FRAME_SIZE = BUILDER
+            .comment("Maximum number of texture variants per bulk sync frame")
+            .defineInRange("bulkSyncFrameSize", 64, 1, 1024);
+
+    public static final ModConfigSpec.IntValue BULK_SYNC_FRAMES_PER_TICK = BUILDER
+            .comment("Bulk sync frames sent to each player per server tick")
+            .defineInRange("bulkSyncFramesPerTick", 2, 1, 64);
+
+    // Clients ask the server for variants they are missing instead of waiting for the periodic rebroadcast
+    public static final ModConfigSpec.IntValue VARIANT_REQUEST_INTERVAL = BUILDER
+            .comment("Minimum ticks between two missing-variant requests from a client")
+            .defineInRange("variantRequestInterval", 20, 1, 1200);
+
+    // Clients periodically send a digest of their variants; the server resends only what differs
+    public static final ModConfigSpec.IntValue DIGEST_INTERVAL = BUILDER
+            .comment("Ticks between two variant digests sent by a client for anti-entropy resync")
+            .defineInRange("digestInterval", 100, 20, 12000);
+
+    // Variants near the joining player are sent during the configuration phase, before the play-phase login flood
+    public static final ModConfigSpec.BooleanValue PRELOAD_VARIANTS = BUILDER
+            .comment("Whether to send the texture variants of ghasts near a joining player during the configuration phase")
+            .define("preloadVariants", true);
+
+    public static final ModConfigSpec.IntValue PRELOAD_RADIUS = BUILDER
+            .comment("Radius in blocks around the joining player's position within which variants are preloaded")
+            .defineInRange("preloadRadius", 128, 16, 1024);
+
+    // Per-player bandwidth for texture sync payloads; queued updates are sent nearest (and ridden) ghasts first
+    public static final ModConfigSpec.IntValue SYNC_BYTES_PER_SECOND = BUILDER
+            .comment("Maximum texture sync bytes per second sent to each player (bursts up to one second's worth)")
+            .defineInRange("syncBytesPerSecond", 32768, 1024, 16777216);
+
+    public static final ModConfigSpec.IntValue SYNC_MAX_WAIT_TICKS = BUILDER
+            .comment("Ticks after which a queued update is sent ahead of nearer ghasts, so distant ghasts are not starved")
+            .defineInRange("syncMaxWaitTicks", 100, 1, 6000);
+
+    // Client side: variants of ghasts not loaded on the client are kept in a bounded LRU
+    public static final ModConfigSpec.IntValue CLIENT_VARIANT_CACHE_LIMIT = BUILDER
+            .comment("Maximum number of texture variants a client keeps for ghasts it does not currently have loaded")
+            .defineInRange("clientVariantCacheLimit", 4096, 64, 1048576);
+
+    // Client side: time each frame may spend publishing received variants into the client store
+    public static final ModConfigSpec.IntValue CLIENT_SYNC_APPLY_MICROS = BUILDER
+            .comment("Microseconds per frame the client may spend applying received texture variants; the rest waits for the next frame")
+            .defineInRange("clientSyncApplyMicros", 1000, 50, 50000);
+
+    // Custom names that unlock a special texture, matched ignoring case whenever a ghast is named or loaded
+    public static final ModConfigSpec.ConfigValue<List<? extends String>> SPECIAL_NAMES = BUILDER
+            .comment("Special ghast names as name=override entries; override is rpg or excelsies")
+            .defineListAllowEmpty("specialNames", List.of("rpg=rpg", "excelsies=excelsies"), () -> "", SpecialNames::isValidEntry);
+
+    // Server tick time GhastTopia maintenance (saves, cleanup, lightning transformations) may use; the rest is deferred
+    public static final ModConfigSpec.IntValue MAINTENANCE_MICROS_PER_TICK = BUILDER
+            .comment("Microseconds per server tick GhastTopia maintenance work may use before the rest waits for the next tick")
+            .defineInRange("maintenanceMicrosPerTick", 2000, 100, 50000);
+
     static final ModConfigSpec SPEC = BUILDER.build();
 
     private static boolean validateItemName(final Object obj) {
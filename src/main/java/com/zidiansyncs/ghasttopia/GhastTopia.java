@@ -27,6 +27,7 @@ import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.config.ModConfig;
 import net.neoforged.fml.ModContainer;
+import net.neoforged.fml.event.config.ModConfigEvent;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.BuildCreativeModeTabContentsEvent;
@@ -38,8 +39,16 @@ import net.neoforged.neoforge.registries.DeferredRegister;
 
 // Import our custom classes
 import com.zidiansyncs.ghasttopia.sound.ModSounds;
+import com.zidiansyncs.ghasttopia.command.GhastTopiaCommand;
 import com.zidiansyncs.ghasttopia.command.MushroomTransformCommand;
 import com.zidiansyncs.ghasttopia.network.NetworkHandler;
+import com.zidiansyncs.ghasttopia.texture.SpecialNames;
+import com.zidiansyncs.ghasttopia.util.mixin.IEnhancedHappyGhastMixin;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.animal.HappyGhast;
+import net.minecraft.world.level.entity.EntityTypeTest;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
 
 // The value here should match an entry in the META-INF/neoforge.mods.toml file
@@ -109,12 +118,36 @@ public class GhastTopia {
 
         // Register network handlers for client-server synchronization
         modEventBus.addListener(NetworkHandler::register);
+        modEventBus.addListener(NetworkHandler::registerConfigurationTasks);
 
         // Register the item to a creative tab
         modEventBus.addListener(this::addCreative);
 
         // Register our mod's ModConfigSpec so that FML can create and load the config file for us
         modContainer.registerConfig(ModConfig.Type.COMMON, Config.SPEC);
+        modEventBus.addListener(this::onConfigChanged);
+    }
+
+    // Recompile the config values that are looked up often whenever the config is loaded or reloaded
+    private void onConfigChanged(ModConfigEvent event) {
+        if (event.getConfig().getSpec() == Config.SPEC && !(event instanceof ModConfigEvent.Unloading)) {
+            SpecialNames.compile(Config.SPECIAL_NAMES.get());
+
+            // Loaded ghasts pick up a changed special name list now instead of when they next join a level
+            MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+            if (event instanceof ModConfigEvent.Reloading && server != null) {
+                server.execute(() -> refreshSpecialNames(server));
+            }
+        }
+    }
+
+    // Re-match the names of all loaded Happy Ghasts (server thread; reloads arrive on the config watcher thread)
+    private static void refreshSpecialNames(MinecraftServer server) {
+        for (ServerLevel level : server.getAllLevels()) {
+            for (HappyGhast ghast : level.getEntities(EntityTypeTest.forClass(HappyGhast.class), ghast -> true)) {
+                ((IEnhancedHappyGhastMixin) ghast).ehg$refreshSpecialName();
+            }
+        }
     }
 
     private void commonSetup(FMLCommonSetupEvent event) {
@@ -150,6 +183,7 @@ public class GhastTopia {
     @SubscribeEvent
     public void onRegisterCommands(RegisterCommandsEvent event) {
         MushroomTransformCommand.register(event.getDispatcher());
+        GhastTopiaCommand.register(event.getDispatcher());
         LOGGER.info("Registered GhastTopia debug commands");
     }
 }
@@ -0,0 +1,534 @@
+package com.zidiansyncs.ghasttopia.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.zidiansyncs.ghasttopia.Config;
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import com.zidiansyncs.ghasttopia.network.BulkTextureSyncPacket;
+import com.zidiansyncs.ghasttopia.network.NetworkMetrics;
+import com.zidiansyncs.ghasttopia.network.OutboundVariantQueue;
+import com.zidiansyncs.ghasttopia.network.TextureSyncPacket;
+import com.zidiansyncs.ghasttopia.network.VariantPalette;
+import com.zidiansyncs.ghasttopia.network.VariantWireFormat;
+import com.zidiansyncs.ghasttopia.texture.FireSourceIndex;
+import com.zidiansyncs.ghasttopia.texture.GhastResidencyIndex;
+import com.zidiansyncs.ghasttopia.texture.GhastTaskScheduler;
+import com.zidiansyncs.ghasttopia.texture.GhastVariant;
+import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+import com.zidiansyncs.ghasttopia.texture.MushroomTransformations;
+import com.zidiansyncs.ghasttopia.texture.VariantLiveness;
+import com.zidiansyncs.ghasttopia.util.MaintenanceExecutor;
+import com.zidiansyncs.ghasttopia.util.TimingWheel;
+import io.netty.buffer.Unpooled;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Admin and diagnostics commands for GhastTopia
+ * Usage: /ghasttopia net
+ *        /ghasttopia net player <player>
+ *        /ghasttopia net export
+ *        /ghasttopia net reset
+ *        /ghasttopia net codec
+ *        /ghasttopia net queue
+ *        /ghasttopia bench fire
+ *        /ghasttopia wheel
+ *        /ghasttopia maintenance
+ *        /ghasttopia locate <uuid|variant>
+ */
+public class GhastTopiaCommand {
+
+    // Number of encode passes averaged by the codec benchmark
+    private static final int BENCHMARK_PASSES = 100;
+
+    // Number of synthetic variants used when the world has no ghasts yet
+    private static final int SYNTHETIC_VARIANTS = 64;
+
+    // Synthetic positions probed by the fire lookup benchmark, spread around the command source
+    private static final int FIRE_BENCHMARK_GHASTS = 200;
+    private static final int FIRE_BENCHMARK_SPREAD = 48;
+    private static final int FIRE_BENCHMARK_TICKS = 20;
+
+    // Upcoming ticks listed individually by the wheel load report
+    private static final int WHEEL_PREVIEW_TICKS = 20;
+
+    // Ghasts listed individually by the locate command
+    private static final int LOCATE_MAX_LINES = 20;
+
+    // Effective variants that are not biome variants, accepted by the locate command
+    private static final List<String> SPECIAL_VARIANTS = List.of("rpg", "excelsies", "brown_mushroom");
+
+    private static final DateTimeFormatter EXPORT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("ghasttopia")
+            .requires(source -> source.hasPermission(2)) // Requires OP level 2
+            .then(Commands.literal("net")
+                .executes(GhastTopiaCommand::showNetworkMetrics)
+                .then(Commands.literal("player")
+                    .then(Commands.argument("player", EntityArgument.player())
+                        .executes(GhastTopiaCommand::showPlayerNetworkMetrics)))
+                .then(Commands.literal("export")
+                    .executes(GhastTopiaCommand::exportNetworkMetrics))
+                .then(Commands.literal("reset")
+                    .executes(GhastTopiaCommand::resetNetworkMetrics))
+                .then(Commands.literal("codec")
+                    .executes(GhastTopiaCommand::benchmarkCodec))
+                .then(Commands.literal("queue")
+                    .executes(GhastTopiaCommand::showQueueStats)))
+            .then(Commands.literal("bench")
+                .then(Commands.literal("fire")
+                    .executes(GhastTopiaCommand::benchmarkFire)))
+            .then(Commands.literal("wheel")
+                .executes(GhastTopiaCommand::showWheelLoad))
+            .then(Commands.literal("maintenance")
+                .executes(GhastTopiaCommand::showMaintenanceStats))
+            .then(Commands.literal("locate")
+                .then(Commands.argument("target", StringArgumentType.string())
+                    .suggests((context, builder) -> SharedSuggestionProvider.suggest(locateSuggestions(), builder))
+                    .executes(GhastTopiaCommand::locateGhasts))));
+    }
+
+    /**
+     * Show traffic per payload type since the counters were last reset
+     */
+    private static int showNetworkMetrics(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        Map<ResourceLocation, NetworkMetrics.Stats> stats = NetworkMetrics.overall();
+        long seconds = Math.max(1, (System.currentTimeMillis() - NetworkMetrics.getStartedAt()) / 1000);
+
+        String header = "GhastTopia payloads over the last " + seconds + "s (bytes are not counted on memory connections):";
+        source.sendSuccess(() -> Component.literal(header), false);
+        long totalOut = 0;
+        for (var entry : stats.entrySet()) {
+            NetworkMetrics.Stats typeStats = entry.getValue();
+            long encodes = typeStats.encodes.sum();
+            totalOut += typeStats.bytesOut.sum();
+            String line = String.format("  %s: %d sent to %d recipients, %d B out (%.1f B avg, %.1f us encode avg), %d received, %d B in",
+                entry.getKey().getPath(), typeStats.payloads.sum(), typeStats.recipients.sum(),
+                typeStats.bytesOut.sum(), typeStats.meanBytesOut(),
+                encodes > 0 ? typeStats.encodeNanos.sum() / 1000.0 / encodes : 0.0,
+                typeStats.decodes.sum(), typeStats.bytesIn.sum());
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+        String footer = String.format("  total: %d B out, %.1f B/s", totalOut, (double) totalOut / seconds);
+        source.sendSuccess(() -> Component.literal(footer), false);
+        return stats.size();
+    }
+
+    /**
+     * Show the payloads sent to one player, with bytes estimated from each type's mean encoded size
+     */
+    private static int showPlayerNetworkMetrics(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        CommandSourceStack source = context.getSource();
+        ServerPlayer player = EntityArgument.getPlayer(context, "player");
+        Map<ResourceLocation, NetworkMetrics.Stats> stats = NetworkMetrics.forPlayer(player.getUUID());
+
+        String header = "GhastTopia payloads sent to " + player.getName().getString()
+            + " (~" + NetworkMetrics.estimatedBytesTo(player.getUUID()) + " B estimated):";
+        source.sendSuccess(() -> Component.literal(header), false);
+        for (var entry : stats.entrySet()) {
+            String line = "  " + entry.getKey().getPath() + ": " + entry.getValue().recipients.sum();
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+        return stats.size();
+    }
+
+    /**
+     * Write the counters to a CSV file in the world folder
+     */
+    private static int exportNetworkMetrics(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        String fileName = "net_metrics_" + LocalDateTime.now().format(EXPORT_TIMESTAMP) + ".csv";
+        Path file = source.getServer().getWorldPath(LevelResource.ROOT).resolve(GhastTopia.MODID).resolve(fileName);
+        try {
+            NetworkMetrics.export(file);
+        } catch (IOException e) {
+            GhastTopia.LOGGER.error("Failed to export network metrics to {}", file, e);
+            source.sendFailure(Component.literal("Failed to export network metrics: " + e.getMessage()));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("Exported network metrics to " + file), false);
+        return 1;
+    }
+
+    private static int resetNetworkMetrics(CommandContext<CommandSourceStack> context) {
+        NetworkMetrics.reset();
+        context.getSource().sendSuccess(() -> Component.literal("Network metrics reset"), false);
+        return 1;
+    }
+
+    /**
+     * Compare bytes per variant of the compact sync encoding against the previous layout,
+     * on a fresh connection palette and once the palette is known
+     */
+    private static int benchmarkCodec(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        MinecraftServer server = source.getServer();
+
+        List<HappyGhastTextureManager.HappyGhastTextureVariant> variants =
+            new ArrayList<>(HappyGhastTextureManager.getAllTextureVariants());
+        boolean synthetic = variants.isEmpty();
+        if (synthetic) {
+            variants = createSyntheticVariants(server);
+        }
+
+        Map<UUID, HappyGhastTextureManager.HappyGhastTextureVariant> variantMap = new HashMap<>();
+        long legacyBulkBytes = 4; // Fixed int count
+        long legacySingleBytes = 0;
+        for (var variant : variants) {
+            variantMap.put(variant.ghastId, variant);
+            legacyBulkBytes += VariantWireFormat.legacyVariantSize(variant);
+            legacySingleBytes += 16 + VariantWireFormat.legacyVariantSize(variant); // UUID was written twice
+        }
+
+        RegistryFriendlyByteBuf buf = new RegistryFriendlyByteBuf(Unpooled.buffer(), server.registryAccess());
+        try {
+            // Single packets through one palette, as a client would receive them over a session
+            VariantPalette singlePalette = new VariantPalette();
+            long compactSingleBytes = 0;
+            for (var variant : variants) {
+                buf.clear();
+                TextureSyncPacket.STREAM_CODEC.encode(buf, TextureSyncPacket.create(singlePalette, variant));
+                compactSingleBytes += buf.writerIndex();
+            }
+
+            // Join payload on a fresh connection (defines every string once)
+            VariantPalette bulkPalette = new VariantPalette();
+            buf.clear();
+            BulkTextureSyncPacket.STREAM_CODEC.encode(buf, BulkTextureSyncPacket.create(bulkPalette, variantMap.values()));
+            long joinBulkBytes = buf.writerIndex();
+
+            // Later payloads on the same connection only reference palette ids
+            BulkTextureSyncPacket bulkPacket = BulkTextureSyncPacket.create(bulkPalette, variantMap.values());
+            long startTime = System.nanoTime();
+            for (int i = 0; i < BENCHMARK_PASSES; i++) {
+                buf.clear();
+                BulkTextureSyncPacket.STREAM_CODEC.encode(buf, bulkPacket);
+            }
+            long nanosPerVariant = (System.nanoTime() - startTime) / ((long) BENCHMARK_PASSES * variants.size());
+            long steadyBulkBytes = buf.writerIndex();
+
+            int count = variants.size();
+            String header = "Codec benchmark over " + count + (synthetic ? " synthetic" : "") + " variants (bytes per variant):";
+            String singleLine = String.format("  single: legacy %.1f, compact %.1f",
+                (double) legacySingleBytes / count, (double) compactSingleBytes / count);
+            String bulkLine = String.format("  bulk:   legacy %.1f, compact %.1f on join, %.1f once palette is known (%d ns/variant encode)",
+                (double) legacyBulkBytes / count, (double) joinBulkBytes / count, (double) steadyBulkBytes / count, nanosPerVariant);
+            String paletteLine = "  palette: " + bulkPalette.size() + " strings defined per connection";
+            source.sendSuccess(() -> Component.literal(header), false);
+            source.sendSuccess(() -> Component.literal(singleLine), false);
+            source.sendSuccess(() -> Component.literal(bulkLine), false);
+            source.sendSuccess(() -> Component.literal(paletteLine), false);
+        } finally {
+            buf.release();
+        }
+
+        return variants.size();
+    }
+
+    /**
+     * Show how many variant sends the per-tick outbound queue has merged
+     */
+    private static int showQueueStats(CommandContext<CommandSourceStack> context) {
+        long requested = OutboundVariantQueue.getRequested();
+        long merged = OutboundVariantQueue.getMerged();
+        long packets = OutboundVariantQueue.getPacketsSent();
+        long variantsSent = OutboundVariantQueue.getVariantsSent();
+
+        String line = String.format("Outbound queue: %d sends requested, %d merged (%.1f%%), %d payloads carrying %d variants",
+            requested, merged, requested > 0 ? 100.0 * merged / requested : 0.0, packets, variantsSent);
+        context.getSource().sendSuccess(() -> Component.literal(line), false);
+        return (int) Math.min(merged, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Micro-benchmark of the fire lookup alone: the old block-by-block cube scan, the palette-filtered section scan,
+     * and the fire index lookup, each run at the same synthetic positions limited to loaded chunks, so the scans
+     * never load terrain. The rest of the ghast tick (the position compare, queueing on the maintenance executor)
+     * is not timed, so the numbers bound the lookup cost rather than the mod's share of a server tick.
+     */
+    private static int benchmarkFire(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        ServerLevel level = source.getLevel();
+        BlockPos origin = BlockPos.containing(source.getPosition());
+        int radius = (int) MushroomTransformations.MAX_RADIUS;
+
+        RandomSource random = RandomSource.create(origin.asLong());
+        List<BlockPos> ghasts = new ArrayList<>();
+        for (int attempt = 0; ghasts.size() < FIRE_BENCHMARK_GHASTS && attempt < FIRE_BENCHMARK_GHASTS * 10; attempt++) {
+            BlockPos pos = origin.offset(random.nextInt(FIRE_BENCHMARK_SPREAD * 2 + 1) - FIRE_BENCHMARK_SPREAD,
+                                         random.nextInt(33) - 16,
+                                         random.nextInt(FIRE_BENCHMARK_SPREAD * 2 + 1) - FIRE_BENCHMARK_SPREAD);
+            if (level.hasChunksAt(pos.offset(-radius, 0, -radius), pos.offset(radius, 0, radius))) {
+                ghasts.add(pos);
+            }
+        }
+        if (ghasts.isEmpty()) {
+            source.sendFailure(Component.literal("No loaded chunks around you to benchmark in"));
+            return 0;
+        }
+
+        long cubeNanos = 0, paletteNanos = 0, indexNanos = 0;
+        int cubeHits = 0, paletteHits = 0, indexHits = 0;
+        for (int tick = 0; tick < FIRE_BENCHMARK_TICKS; tick++) {
+            long start = System.nanoTime();
+            for (BlockPos pos : ghasts) {
+                if (cubeScanForFire(level, pos, radius)) cubeHits++;
+            }
+            long afterCube = System.nanoTime();
+            for (BlockPos pos : ghasts) {
+                if (paletteScanForFire(level, pos, radius)) paletteHits++;
+            }
+            long afterPalette = System.nanoTime();
+            for (BlockPos pos : ghasts) {
+                if (MushroomTransformations.isFireNear(level, pos, radius)) indexHits++;
+            }
+            long afterIndex = System.nanoTime();
+            cubeNanos += afterCube - start;
+            paletteNanos += afterPalette - afterCube;
+            indexNanos += afterIndex - afterPalette;
+        }
+
+        int count = ghasts.size();
+        String header = "Fire lookup only, at " + count + " synthetic positions (radius " + radius + ", "
+            + FireSourceIndex.size(level) + " fire blocks indexed), per tick:";
+        String cubeLine = String.format("  cube scan:    %.1f us (%d near fire)",
+            cubeNanos / 1000.0 / FIRE_BENCHMARK_TICKS, cubeHits / FIRE_BENCHMARK_TICKS);
+        String paletteLine = String.format("  palette scan: %.1f us (%d near fire)",
+            paletteNanos / 1000.0 / FIRE_BENCHMARK_TICKS, paletteHits / FIRE_BENCHMARK_TICKS);
+        String indexLine = String.format("  fire index:   %.1f us (%d near fire)",
+            indexNanos / 1000.0 / FIRE_BENCHMARK_TICKS, indexHits / FIRE_BENCHMARK_TICKS);
+        source.sendSuccess(() -> Component.literal(header), false);
+        source.sendSuccess(() -> Component.literal(cubeLine), false);
+        source.sendSuccess(() -> Component.literal(paletteLine), false);
+        source.sendSuccess(() -> Component.literal(indexLine), false);
+        return count;
+    }
+
+    // The fire check mushroom ghasts used to run every tick: every block of the cube around the ghast
+    private static boolean cubeScanForFire(ServerLevel level, BlockPos center, int radius) {
+        for (int x = -radius; x <= radius; x++) {
+            for (int y = -radius; y <= radius; y++) {
+                for (int z = -radius; z <= radius; z++) {
+                    if (Math.sqrt(x * x + y * y + z * z) <= radius
+                        && level.getBlockState(center.offset(x, y, z)).is(Blocks.FIRE)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // The cube scan restricted to loaded sections whose block palette may contain fire
+    private static boolean paletteScanForFire(ServerLevel level, BlockPos center, int radius) {
+        int minY = Math.max(center.getY() - radius, level.getMinY()), maxY = Math.min(center.getY() + radius, level.getMaxY());
+        for (int sectionX = SectionPos.blockToSectionCoord(center.getX() - radius); sectionX <= SectionPos.blockToSectionCoord(center.getX() + radius); sectionX++) {
+            for (int sectionZ = SectionPos.blockToSectionCoord(center.getZ() - radius); sectionZ <= SectionPos.blockToSectionCoord(center.getZ() + radius); sectionZ++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(sectionX, sectionZ);
+                if (chunk == null) {
+                    continue;
+                }
+                for (int sectionY = SectionPos.blockToSectionCoord(minY); sectionY <= SectionPos.blockToSectionCoord(maxY); sectionY++) {
+                    LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY));
+                    if (section.hasOnlyAir() || !section.maybeHas(state -> state.is(Blocks.FIRE))) {
+                        continue;
+                    }
+                    BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+                    for (int y = 0; y < 16; y++) {
+                        for (int z = 0; z < 16; z++) {
+                            for (int x = 0; x < 16; x++) {
+                                pos.set(SectionPos.sectionToBlockCoord(sectionX, x), SectionPos.sectionToBlockCoord(sectionY, y),
+                                        SectionPos.sectionToBlockCoord(sectionZ, z));
+                                if (pos.distSqr(center) <= radius * radius && section.getBlockState(x, y, z).is(Blocks.FIRE)) {
+                                    return true;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Show how the periodic ghast tasks are spread over the timing wheel
+     */
+    private static int showWheelLoad(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        TimingWheel<?> wheel = GhastTaskScheduler.getWheel();
+        long now = GhastTaskScheduler.getCurrentTick();
+
+        int slots = wheel.getSlotCount();
+        int min = Integer.MAX_VALUE, max = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            int load = wheel.slotSize(slot);
+            min = Math.min(min, load);
+            max = Math.max(max, load);
+        }
+        StringBuilder upcoming = new StringBuilder();
+        for (int i = 1; i <= WHEEL_PREVIEW_TICKS; i++) {
+            upcoming.append(i > 1 ? " " : "").append(wheel.dueAt(now + i));
+        }
+
+        String header = String.format("Ghast task wheel: %d tasks over %d slots, %d run last tick", wheel.size(), slots, wheel.getLastFired());
+        String loadLine = String.format("  per slot: min %d, avg %.2f, max %d", min, (double) wheel.size() / slots, max);
+        String upcomingLine = "  next " + WHEEL_PREVIEW_TICKS + " ticks: " + upcoming;
+        source.sendSuccess(() -> Component.literal(header), false);
+        source.sendSuccess(() -> Component.literal(loadLine), false);
+        source.sendSuccess(() -> Component.literal(upcomingLine), false);
+
+        String livenessLine = String.format("Ghast residency: %d loaded, %d unloaded, %d absent (%d awaiting expiry), %d variants expired",
+            GhastResidencyIndex.count(GhastResidencyIndex.State.LOADED), GhastResidencyIndex.count(GhastResidencyIndex.State.UNLOADED),
+            GhastResidencyIndex.count(GhastResidencyIndex.State.ABSENT), VariantLiveness.getPending(), VariantLiveness.getExpired());
+        source.sendSuccess(() -> Component.literal(livenessLine), false);
+        return wheel.size();
+    }
+
+    /**
+     * Show where a ghast, or every ghast of a variant, lives according to the residency index
+     * The target is a ghast UUID, a variant name ("forest", "rpg", "brown_mushroom", ...) or a stored biome key
+     */
+    private static int locateGhasts(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        String target = StringArgumentType.getString(context, "target");
+
+        Collection<UUID> ghastIds;
+        try {
+            ghastIds = List.of(UUID.fromString(target));
+        } catch (IllegalArgumentException e) {
+            GhastVariant variant = GhastVariant.byName(target);
+            ghastIds = HappyGhastTextureManager.getGhastsWithVariant(variant != null ? variant.getKey() : target);
+        }
+
+        if (ghastIds.isEmpty()) {
+            source.sendFailure(Component.literal("No ghasts found for " + target));
+            return 0;
+        }
+
+        int found = 0;
+        int listed = 0;
+        for (UUID ghastId : ghastIds) {
+            GhastResidencyIndex.Residency residency = GhastResidencyIndex.get(ghastId);
+            HappyGhastTextureManager.HappyGhastTextureVariant variant = HappyGhastTextureManager.getTextureVariant(ghastId);
+            if (residency == null && variant == null) {
+                continue;
+            }
+            found++;
+            if (listed >= LOCATE_MAX_LINES) {
+                continue;
+            }
+            listed++;
+
+            String where;
+            if (residency != null && !residency.hasChunk()) {
+                where = String.format("%s, chunk unknown (%s)", residency.levelId(),
+                    residency.state().name().toLowerCase(Locale.ROOT));
+            } else if (residency != null) {
+                ChunkPos chunk = residency.chunk();
+                where = String.format("%s chunk [%d, %d] (%s)", residency.levelId(), chunk.x, chunk.z,
+                    residency.state().name().toLowerCase(Locale.ROOT));
+            } else {
+                where = "unknown location";
+            }
+            String line = "  " + ghastId + " " + (variant != null ? variant.getEffectiveVariant() : "no variant") + " in " + where;
+            source.sendSuccess(() -> Component.literal(line), false);
+        }
+
+        if (found == 0) {
+            source.sendFailure(Component.literal("No ghasts found for " + target));
+            return 0;
+        }
+        if (found > listed) {
+            int more = found - listed;
+            source.sendSuccess(() -> Component.literal("  ... and " + more + " more"), false);
+        }
+        return found;
+    }
+
+    private static List<String> locateSuggestions() {
+        List<String> suggestions = new ArrayList<>();
+        for (GhastVariant variant : GhastVariant.values()) {
+            suggestions.add(variant.getSerializedName());
+        }
+        suggestions.addAll(SPECIAL_VARIANTS);
+        return suggestions;
+    }
+
+    /**
+     * Show how much tick time maintenance work used, how often it ran over budget and what is still queued
+     */
+    private static int showMaintenanceStats(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        long ticks = MaintenanceExecutor.getTicksWithWork();
+        long overruns = MaintenanceExecutor.getOverruns();
+
+        String header = String.format("Maintenance: %d tasks run over %d ticks, %.1f us avg per busy tick (budget %d us)",
+            MaintenanceExecutor.getTasksRun(), ticks,
+            ticks > 0 ? MaintenanceExecutor.getBusyNanos() / 1000.0 / ticks : 0.0,
+            Config.MAINTENANCE_MICROS_PER_TICK.get());
+        String overrunLine = String.format("  overruns: %d (%.1f us avg over budget), %d ticks left work for later",
+            overruns, overruns > 0 ? MaintenanceExecutor.getOverrunNanos() / 1000.0 / overruns : 0.0,
+            MaintenanceExecutor.getDeferredTicks());
+        String backlogLine = String.format("  backlog: %d (high %d, normal %d, low %d), max %d, longest wait %d ticks, %d saves coalesced",
+            MaintenanceExecutor.getBacklog(),
+            MaintenanceExecutor.getBacklog(MaintenanceExecutor.Priority.HIGH),
+            MaintenanceExecutor.getBacklog(MaintenanceExecutor.Priority.NORMAL),
+            MaintenanceExecutor.getBacklog(MaintenanceExecutor.Priority.LOW),
+            MaintenanceExecutor.getMaxBacklog(), MaintenanceExecutor.getMaxWaitTicks(), MaintenanceExecutor.getCoalesced());
+        source.sendSuccess(() -> Component.literal(header), false);
+        source.sendSuccess(() -> Component.literal(overrunLine), false);
+        source.sendSuccess(() -> Component.literal(backlogLine), false);
+        return MaintenanceExecutor.getBacklog();
+    }
+
+    /**
+     * Build sample variants across the registered biomes for worlds without any ghasts
+     */
+    private static List<HappyGhastTextureManager.HappyGhastTextureVariant> createSyntheticVariants(MinecraftServer server) {
+        List<ResourceLocation> biomeIds = new ArrayList<>(
+            server.registryAccess().lookupOrThrow(Registries.BIOME).keySet());
+
+        List<HappyGhastTextureManager.HappyGhastTextureVariant> variants = new ArrayList<>();
+        for (int i = 0; i < SYNTHETIC_VARIANTS && !biomeIds.isEmpty(); i++) {
+            String biome = biomeIds.get(i % biomeIds.size()).toString();
+            boolean mushroom = biome.equals("minecraft:mushroom_fields");
+            variants.add(new HappyGhastTextureManager.HappyGhastTextureVariant(
+                UUID.randomUUID(), biome, false, false, mushroom, "red", "minecraft:overworld"));
+        }
+        return variants;
+    }
+}
@@ -5,12 +5,10 @@ import com.mojang.brigadier.context.CommandContext;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.network.chat.Component;
-import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.animal.HappyGhast;
-import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
-import com.zidiansyncs.ghasttopia.util.mixin.IEnhancedHappyGhastMixin;
-import com.zidiansyncs.ghasttopia.mixin.EnhancedHappyGhastMixin;
+import com.zidiansyncs.ghasttopia.texture.TransformableGhastIndex;
+import com.zidiansyncs.ghasttopia.util.mixin.ILightningTransformable;
 
 import java.util.List;
 
@@ -19,6 +17,9 @@ import java.util.List;
  * Usage: /mushroom_transform
  */
 public class MushroomTransformCommand {
+
+    // Search radius around the command source
+    private static final double SEARCH_RADIUS = 10.0;
     
     public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
         dispatcher.register(Commands.literal("mushroom_transform")
@@ -30,36 +31,15 @@ public class MushroomTransformCommand {
         CommandSourceStack source = context.getSource();
         Vec3 position = source.getPosition();
         
-        // Find Happy Ghasts within 10 blocks
-        AABB searchArea = new AABB(position.add(-10, -10, -10), position.add(10, 10, 10));
-        List<Entity> entities = source.getLevel().getEntities(null, searchArea);
+        // Find red mushroom ghasts within 10 blocks through the spatial index
+        List<HappyGhast> ghasts = TransformableGhastIndex.findNear(source.getLevel(), position, SEARCH_RADIUS);
         
         int transformedCount = 0;
         
-        for (Entity entity : entities) {
-            if (entity instanceof HappyGhast ghast) {
-                IEnhancedHappyGhastMixin mixin = (IEnhancedHappyGhastMixin) ghast;
-                
-                // Check if it's a red mushroom ghast
-                if (mixin.ehg$isMushroomVariant() && "red".equals(mixin.ehg$getMushroomType())) {
-                    // Try to call the debug transformation method
-                    try {
-                        // Use reflection to call the debug method
-                        java.lang.reflect.Method debugMethod = ghast.getClass().getDeclaredMethod("ehg$debugTransformToBrown");
-                        debugMethod.setAccessible(true);
-                        debugMethod.invoke(ghast);
-                        
-                        transformedCount++;
-                        source.sendSuccess(() -> Component.literal("Transformed red mushroom ghast " + ghast.getUUID() + " to brown"), false);
-                    } catch (Exception e) {
-                        source.sendFailure(Component.literal("Failed to transform ghast: " + e.getMessage()));
-                    }
-                } else {
-                    source.sendSuccess(() -> Component.literal("Found Happy Ghast " + ghast.getUUID() + 
-                        " - isMushroomVariant: " + mixin.ehg$isMushroomVariant() + 
-                        ", mushroomType: " + mixin.ehg$getMushroomType()), false);
-                }
-            }
+        for (HappyGhast ghast : ghasts) {
+            ((ILightningTransformable) ghast).ehg$debugTransformToBrown();
+            transformedCount++;
+            source.sendSuccess(() -> Component.literal("Transformed red mushroom ghast " + ghast.getUUID() + " to brown"), false);
         }
         
         final int finalTransformedCount = transformedCount; // Make variable final for lambda
@@ -0,0 +1,146 @@
+package com.zidiansyncs.ghasttopia.event;
+
+import com.zidiansyncs.ghasttopia.Config;
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import com.zidiansyncs.ghasttopia.mixin.BiomeManagerAccessor;
+import com.zidiansyncs.ghasttopia.network.ClientVariantCache;
+import com.zidiansyncs.ghasttopia.network.ClientVariantInbox;
+import com.zidiansyncs.ghasttopia.network.ClientVariantPalette;
+import com.zidiansyncs.ghasttopia.network.ClientVariantRetention;
+import com.zidiansyncs.ghasttopia.network.MissingVariantTracker;
+import com.zidiansyncs.ghasttopia.network.VariantCacheSummaryPacket;
+import com.zidiansyncs.ghasttopia.network.VariantDigest;
+import com.zidiansyncs.ghasttopia.network.VariantDigestPacket;
+import com.zidiansyncs.ghasttopia.network.VariantRequestPacket;
+import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.multiplayer.ServerData;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.animal.HappyGhast;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.loading.FMLPaths;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+import net.neoforged.neoforge.client.event.ClientTickEvent;
+import net.neoforged.neoforge.client.event.RenderFrameEvent;
+import net.neoforged.neoforge.client.network.ClientPacketDistributor;
+import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Client-side event handlers for the texture sync system.
+ * Keeps per-connection client state in step with the server's sync session.
+ */
+@EventBusSubscriber(modid = GhastTopia.MODID, value = Dist.CLIENT)
+public class ClientEventHandlers {
+
+    private static int digestTickCounter = 0;
+
+    /**
+     * Restore the persistent variant cache for this server and summarise it to the server
+     * Singleplayer worlds run without a persistent cache since the server is local
+     */
+    @SubscribeEvent
+    public static void onLoggingIn(ClientPlayerNetworkEvent.LoggingIn event) {
+        Minecraft minecraft = Minecraft.getInstance();
+        ServerData serverData = minecraft.getCurrentServer();
+        Path cacheFile = null;
+        if (!minecraft.isLocalServer() && serverData != null) {
+            // One cache per server address and world: the hashed seed tells worlds behind one address apart
+            long worldSeed = ((BiomeManagerAccessor) event.getPlayer().level().getBiomeManager()).ehg$getBiomeZoomSeed();
+            String fileName = serverData.ip.replaceAll("[^a-zA-Z0-9._-]", "_") + "_" + Long.toHexString(worldSeed) + ".dat";
+            cacheFile = FMLPaths.GAMEDIR.get().resolve(GhastTopia.MODID).resolve("variant_cache").resolve(fileName);
+        }
+        ClientVariantRetention.setLimit(Config.CLIENT_VARIANT_CACHE_LIMIT.get());
+        VariantCacheSummaryPacket summary = ClientVariantCache.open(cacheFile);
+        // Preload frames that did not fit the palette: ask for a full sync, which restarts the palette
+        if (ClientVariantPalette.takeResyncRequest()) {
+            summary = VariantCacheSummaryPacket.resync();
+        }
+        ClientPacketDistributor.sendToServer(summary);
+    }
+
+    /**
+     * Keep the variants of ghasts loaded on this client
+     */
+    @SubscribeEvent
+    public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        if (event.getLevel().isClientSide() && event.getEntity() instanceof HappyGhast ghast) {
+            ClientVariantRetention.onGhastLoaded(ghast.getUUID());
+        }
+    }
+
+    /**
+     * Make the variant of a ghast that left this client evictable
+     */
+    @SubscribeEvent
+    public static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        if (event.getLevel().isClientSide() && event.getEntity() instanceof HappyGhast ghast) {
+            ClientVariantRetention.onGhastUnloaded(ghast.getUUID());
+        }
+    }
+
+    /**
+     * Save the variant cache and forget the connection's string palette when leaving a server or world
+     */
+    @SubscribeEvent
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        ClientVariantInbox.publishAll();
+        ClientVariantCache.close();
+        ClientVariantPalette.reset();
+        MissingVariantTracker.reset();
+    }
+
+    /**
+     * Send the batched request for variants the renderer found missing
+     */
+    @SubscribeEvent
+    public static void onClientTick(ClientTickEvent.Post event) {
+        // Variant requests and digests only go to a server that replicates with sync packets
+        if (Minecraft.getInstance().getConnection() == null || !ClientVariantCache.isServerSyncing()) {
+            return;
+        }
+        List<UUID> missing = MissingVariantTracker.tick(Config.VARIANT_REQUEST_INTERVAL.get());
+        if (!missing.isEmpty()) {
+            ClientPacketDistributor.sendToServer(new VariantRequestPacket(missing));
+        }
+
+        // Anti-entropy: digest of the variants held for the ghasts loaded on this client
+        if (++digestTickCounter >= Config.DIGEST_INTERVAL.get()) {
+            digestTickCounter = 0;
+            sendVariantDigest();
+        }
+    }
+
+    /**
+     * Publish received variants into the client store within the per-frame time budget
+     */
+    @SubscribeEvent
+    public static void onRenderFramePre(RenderFrameEvent.Pre event) {
+        ClientVariantInbox.publish(Config.CLIENT_SYNC_APPLY_MICROS.get() * 1000L);
+    }
+
+    private static void sendVariantDigest() {
+        ClientLevel level = Minecraft.getInstance().level;
+        // Skip while received variants are still being published; the digest would report them as missing
+        if (level == null || !ClientVariantInbox.isEmpty()) {
+            return;
+        }
+
+        List<UUID> loadedGhasts = new ArrayList<>();
+        for (Entity entity : level.entitiesForRendering()) {
+            if (entity instanceof HappyGhast) {
+                loadedGhasts.add(entity.getUUID());
+            }
+        }
+        int[] digest = VariantDigest.compute(loadedGhasts, HappyGhastTextureManager::getClientTextureVariant);
+        ClientPacketDistributor.sendToServer(new VariantDigestPacket(digest));
+    }
+}
@@ -1,19 +1,43 @@
 package com.zidiansyncs.ghasttopia.event;
 
+import com.zidiansyncs.ghasttopia.Config;
 import com.zidiansyncs.ghasttopia.GhastTopia;
+import com.zidiansyncs.ghasttopia.network.NetworkHandler;
+import com.zidiansyncs.ghasttopia.network.NetworkMetrics;
+import com.zidiansyncs.ghasttopia.network.OutboundVariantQueue;
+import com.zidiansyncs.ghasttopia.network.VariantSyncMode;
+import com.zidiansyncs.ghasttopia.network.VariantSyncSession;
+import com.zidiansyncs.ghasttopia.texture.BiomeVariantRules;
+import com.zidiansyncs.ghasttopia.texture.FireSourceIndex;
+import com.zidiansyncs.ghasttopia.texture.GhastResidencyIndex;
+import com.zidiansyncs.ghasttopia.texture.GhastTaskScheduler;
 import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
 import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureWorldData;
+import com.zidiansyncs.ghasttopia.texture.MushroomTransformations;
+import com.zidiansyncs.ghasttopia.texture.TransformableGhastIndex;
+import com.zidiansyncs.ghasttopia.texture.VariantLiveness;
+import com.zidiansyncs.ghasttopia.util.MaintenanceExecutor;
+import com.zidiansyncs.ghasttopia.util.mixin.IEnhancedHappyGhastMixin;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.Registries;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.LightningBolt;
 import net.minecraft.world.entity.animal.HappyGhast;
+import net.minecraft.world.level.chunk.LevelChunk;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.AddServerReloadListenersEvent;
+import net.neoforged.neoforge.event.TagsUpdatedEvent;
+import net.neoforged.neoforge.event.entity.EntityEvent;
 import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
 import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
 import net.neoforged.neoforge.event.entity.EntityTravelToDimensionEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
 import net.neoforged.neoforge.event.level.LevelEvent;
 import net.neoforged.neoforge.event.server.ServerStartedEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
 import net.neoforged.neoforge.event.server.ServerStoppingEvent;
 import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
@@ -24,9 +48,6 @@ import net.neoforged.neoforge.event.tick.ServerTickEvent;
 @EventBusSubscriber(modid = GhastTopia.MODID)
 public class ServerEventHandlers {
 
-    private static int textureCleanupCounter = 0;
-    private static final int TEXTURE_CLEANUP_INTERVAL = 6000; // 5 minutes (6000 ticks)
-    
     // Track if we've loaded texture data yet to avoid multiple loads
     private static boolean hasLoadedTextureData = false;
 
@@ -44,6 +65,25 @@ public class ServerEventHandlers {
         System.out.println("GhastTopia: Ready to load texture data when levels load");
     }
 
+    /**
+     * Register the datapack loader for biome variant rules
+     */
+    @SubscribeEvent
+    public static void onAddReloadListeners(AddServerReloadListenersEvent event) {
+        event.addListener(BiomeVariantRules.LISTENER_ID, new BiomeVariantRules.ReloadListener());
+    }
+
+    /**
+     * Compile the variant rules once biome tags are bound (server start and every /reload)
+     */
+    @SubscribeEvent
+    public static void onTagsUpdated(TagsUpdatedEvent event) {
+        if (event.getUpdateCause() == TagsUpdatedEvent.UpdateCause.SERVER_DATA_LOAD
+            && event.getLookupProvider() instanceof RegistryAccess registryAccess) {
+            BiomeVariantRules.compile(registryAccess.lookupOrThrow(Registries.BIOME));
+        }
+    }
+
     /**
      * Handle server stopping - save all texture data from memory
      */
@@ -61,9 +101,25 @@ public class ServerEventHandlers {
 
         // Reset flags for next server start
         hasLoadedTextureData = false;
+        VariantSyncSession.clearAll();
+        OutboundVariantQueue.clear();
+        TransformableGhastIndex.clearAll();
+        FireSourceIndex.clearAll();
+        GhastTaskScheduler.clear();
+        VariantLiveness.clear();
+        GhastResidencyIndex.clear();
+        MaintenanceExecutor.clear();
         HappyGhastTextureManager.resetDataLoadedFlag();
     }
 
+    /**
+     * Handle server stopped - every connection is closed, so no per-player state may outlive it
+     */
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        NetworkMetrics.forgetAllPlayers();
+    }
+
     /**
      * Handle world loading - restore texture data from saved world data
      */
@@ -79,17 +135,28 @@ public class ServerEventHandlers {
         // Only load data once when the first dimension loads
         if (!hasLoadedTextureData && serverLevel != null) {
             System.out.println("GhastTopia: " + serverLevel.dimension().location() + " loaded, restoring Happy Ghast texture data");
+            // Drop entries recorded while the previous world shut down (entities unload after the server stops)
+            GhastResidencyIndex.clear();
+            VariantLiveness.clear();
             HappyGhastTextureWorldData.loadTextureData(serverLevel);
 
-            // Sync all loaded variants to all clients for rendering
-            HappyGhastTextureManager.syncAllToClients();
-
+            // No client sync here: joining players get theirs from the login sync,
+            // and ghasts that change dimension are handed off to their new trackers
             hasLoadedTextureData = true;
         } else if (serverLevel != null) {
             System.out.println("GhastTopia: " + serverLevel.dimension().location() + " loaded, but texture data already loaded");
+        }
+    }
 
-            // Still sync to all clients in case of dimension changes
-            HappyGhastTextureManager.syncAllToClients();
+    /**
+     * Write the residency index with the world save when ghasts moved, loaded or unloaded since the last one
+     */
+    @SubscribeEvent
+    public static void onLevelSave(LevelEvent.Save event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel
+            && serverLevel.dimension().equals(net.minecraft.world.level.Level.OVERWORLD)
+            && hasLoadedTextureData && GhastResidencyIndex.consumeDirty()) {
+            HappyGhastTextureWorldData.onResidencyChanged(serverLevel);
         }
     }
 
@@ -106,6 +173,8 @@ public class ServerEventHandlers {
         }
 
         System.out.println("HappyHaulers: Level unloading: " + serverLevel.dimension().location());
+        TransformableGhastIndex.clearLevel(serverLevel);
+        FireSourceIndex.clearLevel(serverLevel);
 
         // Only clear memory when the overworld unloads (last to unload)
         if (serverLevel.dimension().equals(net.minecraft.world.level.Level.OVERWORLD)) {
@@ -116,39 +185,84 @@ public class ServerEventHandlers {
         }
     }
 
+    /**
+     * Index the fire already burning in a chunk as it loads
+     */
+    @SubscribeEvent
+    public static void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel && event.getChunk() instanceof LevelChunk chunk) {
+            FireSourceIndex.onChunkLoad(serverLevel, chunk);
+        }
+    }
+
+    /**
+     * Drop a chunk's fire from the index as it unloads
+     */
+    @SubscribeEvent
+    public static void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel && event.getChunk() instanceof LevelChunk chunk) {
+            FireSourceIndex.onChunkUnload(serverLevel, chunk);
+        }
+    }
+
     /**
      * Handle Happy Ghast entities joining the level
-     * This ensures existing ghasts get their texture variants restored
+     * This ensures existing ghasts get their texture variants restored and new ones are classified
      */
     @SubscribeEvent
     public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
         if (event.getEntity() instanceof HappyGhast ghast && !event.getLevel().isClientSide) {
+            if (event.getLevel() instanceof ServerLevel serverLevel) {
+                GhastResidencyIndex.onJoin(ghast, serverLevel);
+                VariantLiveness.onJoin(ghast.getUUID());
+            }
+
+            // Match the name against the current special names (the configured list may have changed since it was saved)
+            ((IEnhancedHappyGhastMixin) ghast).ehg$refreshSpecialName();
+
             // AGGRESSIVE: Force-load texture variant immediately when entity joins level
             boolean hasVariant = HappyGhastTextureManager.forceLoadTextureVariant(ghast.getUUID());
 
+            // Restore a stored locked variant into the entity (fields and synced data), or classify a new ghast
+            ((IEnhancedHappyGhastMixin) ghast).ehg$classifyVariant();
+
             if (hasVariant) {
                 HappyGhastTextureManager.HappyGhastTextureVariant variant =
                     HappyGhastTextureManager.getTextureVariant(ghast.getUUID());
 
-                // Ensure client-side sync when entity joins level (critical for dimension travel)
+                // Packet sync modes: hand the variant to the players tracking the ghast in this level
+                // (no-op in ENTITY_DATA mode, where the synced data restored above reaches them)
                 if (variant != null && variant.isLocked) {
-                    HappyGhastTextureManager.syncToAllClients(ghast.getUUID(), variant);
+                    NetworkHandler.handOff(ghast);
 
                     System.out.println("HappyHaulers: AGGRESSIVE RESTORE - Happy Ghast " + ghast.getUUID() +
                                      " joined level " + event.getLevel().dimension().location() +
                                      " with locked texture variant: " + variant.getEffectiveVariant() + " (LOCKED)");
                 }
-            } else {
-                // No existing variant - check if this is in Overworld or not
-                if (event.getLevel().dimension().equals(net.minecraft.world.level.Level.OVERWORLD)) {
-                    System.out.println("HappyHaulers: Happy Ghast " + ghast.getUUID() +
-                                     " joined OVERWORLD with no existing texture variant - will detect on first tick");
-                } else {
-                    System.out.println("HappyHaulers: Happy Ghast " + ghast.getUUID() +
-                                     " joined NON-OVERWORLD dimension " + event.getLevel().dimension().location() +
-                                     " with no existing texture variant - NO DETECTION WILL OCCUR");
-                }
             }
+
+            // Periodic per-ghast work runs from the central timing wheel
+            GhastTaskScheduler.register(ghast);
+        }
+    }
+
+    /**
+     * Keep the residency index on the chunk a loaded ghast is in
+     */
+    @SubscribeEvent
+    public static void onEnteringSection(EntityEvent.EnteringSection event) {
+        if (event.getEntity() instanceof HappyGhast ghast && !ghast.level().isClientSide && event.didChunkChange()) {
+            GhastResidencyIndex.onSectionChange(ghast, event.getNewPos());
+        }
+    }
+
+    /**
+     * Let a lightning bolt transform the red mushroom ghasts around it
+     */
+    @SubscribeEvent
+    public static void onLightningBoltJoin(EntityJoinLevelEvent event) {
+        if (event.getEntity() instanceof LightningBolt bolt && event.getLevel() instanceof ServerLevel serverLevel) {
+            MushroomTransformations.onLightningBolt(serverLevel, bolt);
         }
     }
 
@@ -164,17 +278,16 @@ public class ServerEventHandlers {
                 HappyGhastTextureManager.HappyGhastTextureVariant variant =
                     HappyGhastTextureManager.getTextureVariant(ghast.getUUID());
 
-                if (variant != null && variant.isLocked) {
-                    // CRITICAL: Multiple sync attempts to ensure texture is available in new dimension
-                    HappyGhastTextureManager.forceSyncToAllClients(ghast.getUUID());
-
-                    // Force sync all variants to ensure client has complete data
-                    HappyGhastTextureManager.syncAllToClients();
+                if (variant != null && variant.isLocked && ghast.level() instanceof ServerLevel serverLevel) {
+                    // Re-home the variant to the destination level; it is handed off to the players
+                    // tracking the ghast there once it joins that level (see onEntityJoinLevel)
+                    HappyGhastTextureManager.rehomeTextureVariant(
+                        ghast.getUUID(), event.getDimension().location().toString(), serverLevel);
 
                     System.out.println("HappyHaulers: DIMENSION TRAVEL - Happy Ghast " + ghast.getUUID() +
                                      " traveling from " + ghast.level().dimension().location() +
                                      " to " + event.getDimension().location() +
-                                     " - AGGRESSIVELY preserving texture variant: " + variant.getEffectiveVariant() + " (LOCKED)");
+                                     " - re-homed texture variant: " + variant.getEffectiveVariant() + " (LOCKED)");
                 } else {
                     System.out.println("HappyHaulers: WARNING - Happy Ghast " + ghast.getUUID() +
                                      " traveling to " + event.getDimension().location() +
@@ -188,6 +301,36 @@ public class ServerEventHandlers {
         }
     }
 
+    /**
+     * Push a ghast's texture variant to a player as soon as they start tracking it
+     * In TRACKING mode this replaces broadcasting every update to every player
+     */
+    @SubscribeEvent
+    public static void onStartTracking(PlayerEvent.StartTracking event) {
+        if (event.getTarget() instanceof HappyGhast ghast && event.getEntity() instanceof ServerPlayer player) {
+            // Remember who tracks the ghast so TRACKING-mode updates can be built per player
+            VariantSyncSession.get(player).startTracking(ghast.getUUID());
+
+            if (NetworkHandler.getSyncMode() == VariantSyncMode.TRACKING) {
+                HappyGhastTextureManager.HappyGhastTextureVariant variant =
+                    HappyGhastTextureManager.getTextureVariant(ghast.getUUID());
+                if (variant != null && variant.isLocked) {
+                    NetworkHandler.sendTextureSyncToPlayer(player, ghast.getUUID(), variant);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget the tracking relation when a player stops tracking a ghast
+     */
+    @SubscribeEvent
+    public static void onStopTracking(PlayerEvent.StopTracking event) {
+        if (event.getTarget() instanceof HappyGhast ghast && event.getEntity() instanceof ServerPlayer player) {
+            VariantSyncSession.get(player).stopTracking(ghast.getUUID());
+        }
+    }
+
     /**
      * Handle Happy Ghast entities leaving the level
      * CONSERVATIVE: Only clean up texture variants for truly dead ghasts
@@ -195,6 +338,13 @@ public class ServerEventHandlers {
     @SubscribeEvent
     public static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
         if (event.getEntity() instanceof HappyGhast ghast && !event.getLevel().isClientSide) {
+            if (event.getLevel() instanceof ServerLevel serverLevel) {
+                TransformableGhastIndex.remove(serverLevel, ghast);
+                GhastTaskScheduler.unregister(ghast);
+                VariantLiveness.onLeave(ghast.getUUID(),
+                    GhastResidencyIndex.onLeave(ghast, serverLevel, ghast.getRemovalReason()));
+            }
+
             // CRITICAL: Be VERY conservative about removing texture variants
             // Only remove if the ghast is actually dead AND removed (not just dimension travel)
             if (ghast.isRemoved() && !ghast.isAlive() && ghast.getRemovalReason() != null) {
@@ -220,21 +370,25 @@ public class ServerEventHandlers {
     }
 
     /**
-     * Periodic cleanup of invalid texture variants
-     * Runs every 5 minutes to clean up variants for ghasts that no longer exist
+     * Run the periodic ghast tasks due this tick, and expire the texture variants of ghasts gone for too long
      */
     @SubscribeEvent
     public static void onServerTick(ServerTickEvent.Pre event) {
-        textureCleanupCounter++;
-        
-        if (textureCleanupCounter >= TEXTURE_CLEANUP_INTERVAL) {
-            textureCleanupCounter = 0;
-            
-            // Run cleanup on all server levels
-            for (ServerLevel level : event.getServer().getAllLevels()) {
-                HappyGhastTextureManager.cleanupInvalidVariants(level);
-            }
-        }
+        GhastTaskScheduler.tick(event.getServer());
+        VariantLiveness.tick(event.getServer());
+    }
+
+    /**
+     * Flush the updates queued during the tick, then send what each player's budget allows,
+     * then run queued maintenance work
+     */
+    @SubscribeEvent
+    public static void onServerTickPost(ServerTickEvent.Post event) {
+        NetworkHandler.flushQueuedSyncs(event.getServer());
+        NetworkHandler.tickSessions(event.getServer());
+
+        // Maintenance runs last, within its per-tick budget
+        MaintenanceExecutor.run(event.getServer().getTickCount(), Config.MAINTENANCE_MICROS_PER_TICK.get() * 1000L);
     }
 
     /**
@@ -244,10 +398,20 @@ public class ServerEventHandlers {
     @SubscribeEvent
     public static void onPlayerJoin(PlayerEvent.PlayerLoggedInEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
-            // Send all texture variants to the joining player
-            HappyGhastTextureManager.syncAllToPlayer(player);
+            // Send the variants the joining player is missing (delta against their cache, or everything)
+            NetworkHandler.beginLoginSync(player);
             System.out.println("GhastTopia: Player " + player.getName().getString() +
                              " joined - synced texture data");
         }
     }
+
+    /**
+     * Drop the player's sync session (so the string palette starts fresh on reconnect) and traffic counters
+     */
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        VariantSyncSession.end(event.getEntity().getUUID());
+        OutboundVariantQueue.forgetPlayer(event.getEntity().getUUID());
+        NetworkMetrics.forgetPlayer(event.getEntity().getUUID());
+    }
 }
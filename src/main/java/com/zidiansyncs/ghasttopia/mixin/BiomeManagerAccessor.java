@@ -0,0 +1,15 @@
+package com.zidiansyncs.ghasttopia.mixin;
+
+// Biome Manager Accessor - Exposes the hashed world seed the client receives when joining
+// The client variant cache uses it to tell worlds on the same server address apart
+
+import net.minecraft.world.level.biome.BiomeManager;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(BiomeManager.class)
+public interface BiomeManagerAccessor {
+    // Hashed (not the real) world seed; the same for every join of one world
+    @Accessor("biomeZoomSeed")
+    long ehg$getBiomeZoomSeed();
+}
@@ -1,8 +1,18 @@
 package com.zidiansyncs.ghasttopia.mixin;
 
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import com.zidiansyncs.ghasttopia.texture.BiomeVariantRules;
+import com.zidiansyncs.ghasttopia.texture.GhastVariant;
 import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+import com.zidiansyncs.ghasttopia.texture.MushroomTransformations;
+import com.zidiansyncs.ghasttopia.texture.SpecialNames;
+import com.zidiansyncs.ghasttopia.texture.TransformableGhastIndex;
 import com.zidiansyncs.ghasttopia.util.mixin.IEnhancedHappyGhastMixin;
+import com.zidiansyncs.ghasttopia.util.mixin.ILightningTransformable;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.syncher.EntityDataAccessor;
+import net.minecraft.network.syncher.EntityDataSerializers;
+import net.minecraft.network.syncher.SynchedEntityData;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.animal.HappyGhast;
@@ -19,7 +29,7 @@ import java.util.UUID;
 // Mixin target: Vanilla HappyGhast class
 // This allows us to add Enhanced Happy Ghast functionality to existing vanilla entities
 @Mixin(HappyGhast.class)
-public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
+public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin, ILightningTransformable {
 
     // ===== DATA STORAGE FOR ENHANCED HAPPY GHAST FEATURES =====
     // These variables store the custom data for each ghast entity instance
@@ -33,7 +43,31 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
     @Unique private boolean ehg$hasLockedVariant = false;               // True when this ghast has a locked texture variant (prevents biome detection)
     @Unique private boolean ehg$isMushroomVariant = false;              // True if this is a mushroom ghast (red or brown)
     @Unique private String ehg$mushroomType = "red";                    // "red" or "brown" - tracks mushroom variant type
-    @Unique private int ehg$lightningCooldown = 0;                      // Cooldown to prevent multiple transformations
+    @Unique private long ehg$lightningCooldownUntil = 0;                // Game time before which no new transformation happens
+    @Unique private net.minecraft.core.BlockPos ehg$lastFireCheckPos = null; // Block position last checked for nearby fire
+    @Unique private long ehg$indexedSection = TransformableGhastIndex.NOT_INDEXED; // Section this ghast is filed under in the TransformableGhastIndex
+
+    // ===== SYNCED ENTITY DATA =====
+    // The variant travels with the entity itself: it arrives atomically with the spawn packet
+    // and later changes are sent through the vanilla dirty-data mechanism
+    @Unique private static final EntityDataAccessor<String> EHG$DATA_SPAWN_BIOME =
+        SynchedEntityData.defineId(HappyGhast.class, EntityDataSerializers.STRING);
+    @Unique private static final EntityDataAccessor<Byte> EHG$DATA_VARIANT_FLAGS =
+        SynchedEntityData.defineId(HappyGhast.class, EntityDataSerializers.BYTE);
+
+    // Bit layout of EHG$DATA_VARIANT_FLAGS
+    @Unique private static final byte EHG$FLAG_RPG_NAME = 1;
+    @Unique private static final byte EHG$FLAG_EXCELSIES_NAME = 1 << 1;
+    @Unique private static final byte EHG$FLAG_MUSHROOM = 1 << 2;
+    @Unique private static final byte EHG$FLAG_BROWN_MUSHROOM = 1 << 3;
+    @Unique private static final byte EHG$FLAG_LOCKED = 1 << 4;
+
+    // Register our synced values alongside the vanilla Happy Ghast data
+    @Inject(method = "defineSynchedData", at = @At("TAIL"))
+    private void ehg$defineSynchedData(SynchedEntityData.Builder builder, CallbackInfo ci) {
+        builder.define(EHG$DATA_SPAWN_BIOME, "minecraft:plains");
+        builder.define(EHG$DATA_VARIANT_FLAGS, (byte) 0);
+    }
 
     // Initialize data when a new Happy Ghast is created
     // This runs once when the entity is first spawned
@@ -67,6 +101,7 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
 
                 // CRITICAL: Save to persistent data immediately to ensure survival
                 ehg$saveBiomeToPersistentData();
+                ehg$publishVariantData();
 
                 System.out.println("GhastTopia: INIT - Force-loaded locked variant for ghast " + ghast.getUUID() +
                                  " in dimension " + level.dimension().location() +
@@ -80,233 +115,119 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
 
         // Try to load from world data system (new persistence method)
         ehg$loadFromWorldData();
+        ehg$publishVariantData();
     }
 
-    // ===== MAIN TICK METHOD - RUNS EVERY GAME TICK (20 TIMES PER SECOND) =====
-    // This is the core method that handles biome detection and name checking
-    // Performance optimized to minimize CPU usage with large numbers of ghasts
-    @Inject(method = "tick", at = @At("HEAD"))
-    private void ehg$testTick(CallbackInfo ci) {
+    // ===== VARIANT CLASSIFICATION - RUNS ONCE, ON THE SERVER =====
+    // Called every time the ghast joins a server level (spawn, chunk load, restart, dimension change);
+    // ghasts that already have a locked variant get it restored into their fields and synced data.
+    // A new result goes into the texture store in a single write and reaches clients through the
+    // synced entity data, so clients never detect biomes themselves.
+    @Override
+    public void ehg$classifyVariant() {
         HappyGhast ghast = (HappyGhast)(Object)this;
+        if (!(ghast.level() instanceof ServerLevel serverLevel)) {
+            return;
+        }
 
-        // LOCKED VARIANT OPTIMIZATION: Skip expensive biome detection for ghasts with locked variants
-        // This prevents unnecessary processing and protects against texture changes during dimension travel
+        // Restore an existing locked variant (reload, restart, previous dimension) instead of classifying again
+        HappyGhastTextureManager.HappyGhastTextureVariant lockedVariant =
+            HappyGhastTextureManager.getTextureVariant(ghast.getUUID());
+        if (lockedVariant != null && lockedVariant.isLocked) {
+            ehg$spawnBiome = lockedVariant.spawnBiome;
+            ehg$hasRpgName = lockedVariant.hasRpgName;
+            ehg$hasExcelsiesName = lockedVariant.hasExcelsiesName;
+            ehg$isMushroomVariant = lockedVariant.isMushroomVariant;
+            ehg$mushroomType = lockedVariant.mushroomType;
+            ehg$biomeDetected = true;
+            ehg$hasLockedVariant = true;
+            ehg$publishVariantData();
+            return;
+        }
         if (ehg$hasLockedVariant) {
-            // Periodic client sync to ensure texture variants are available for rendering
-            // Reduced frequency (every 10 seconds) to prevent log spam while maintaining reliability
-            if (ghast.tickCount % 200 == 0) { // Every 10 seconds
-                HappyGhastTextureManager.forceSyncToAllClients(ghast.getUUID());
-            }
-            // Skip biome detection but continue to name detection below to allow dynamic name changes
-        } else {
+            // Locked through the ghast's own saved data only: keep it, but make sure clients see it
+            ehg$publishVariantData();
+            return;
+        }
 
         // DIMENSION-BASED TEXTURE ASSIGNMENT
-        // Handle different dimensions with appropriate texture assignment logic
-        if (!ghast.level().dimension().equals(net.minecraft.world.level.Level.OVERWORLD)) {
-            // Check if we have an existing locked variant to restore (for dimension travelers)
-            if (HappyGhastTextureManager.hasTextureVariant(ghast.getUUID())) {
-                HappyGhastTextureManager.HappyGhastTextureVariant lockedVariant =
-                    HappyGhastTextureManager.getTextureVariant(ghast.getUUID());
-                if (lockedVariant != null && lockedVariant.isLocked) {
-                    // Restore the existing locked variant (from previous dimension)
-                    ehg$spawnBiome = lockedVariant.spawnBiome;
-                    ehg$hasRpgName = lockedVariant.hasRpgName;
-                    ehg$hasExcelsiesName = lockedVariant.hasExcelsiesName;
-                    ehg$biomeDetected = true;
-                    ehg$hasLockedVariant = true;
-                    return;
-                }
-            }
-
+        net.minecraft.resources.ResourceKey<Level> dimension = serverLevel.dimension();
+        if (dimension == Level.NETHER) {
             // NETHER SPAWN HANDLING: Assign default Happy Ghast texture for new Nether spawns
-            if (ghast.level().dimension().equals(net.minecraft.world.level.Level.NETHER)) {
-                ehg$spawnBiome = "minecraft:plains"; // Use plains key for default texture
-                ehg$biomeDetected = true;
-                // Continue to registration below
-            }
+            ehg$spawnBiome = GhastVariant.DEFAULT.getKey();
+        } else if (dimension == Level.END) {
             // END SPAWN HANDLING: Assign End Ghast texture for new End spawns
-            else if (ghast.level().dimension().equals(net.minecraft.world.level.Level.END)) {
-                ehg$spawnBiome = "minecraft:the_end"; // Use the_end key for End texture
-                ehg$biomeDetected = true;
-                // Continue to registration below
-            } else {
-                // Other custom dimensions - skip detection for now
-                return;
-            }
-        }
-
-        // OVERWORLD ONLY: Check if we already have a locked texture variant first (highest priority)
-        if (!ehg$biomeDetected && ghast.tickCount < 10) {
-            // First, try to load from world data system (prevents dimension travel texture reset)
-            if (HappyGhastTextureManager.hasTextureVariant(ghast.getUUID())) {
-                HappyGhastTextureManager.HappyGhastTextureVariant lockedVariant =
-                    HappyGhastTextureManager.getTextureVariant(ghast.getUUID());
-                if (lockedVariant != null && lockedVariant.isLocked) {
-                    // Use the locked variant data - this prevents texture reset on dimension travel
-                    ehg$spawnBiome = lockedVariant.spawnBiome;
-                    ehg$hasRpgName = lockedVariant.hasRpgName;
-                    ehg$hasExcelsiesName = lockedVariant.hasExcelsiesName;
-                    ehg$biomeDetected = true;
-                    ehg$hasLockedVariant = true; // Mark as having locked variant to prevent future detection
-
-                    System.out.println("GhastTopia: Restored locked texture variant for ghast " + ghast.getUUID() +
-                                     " in Overworld - variant: " + lockedVariant.getEffectiveVariant() + " (LOCKED)");
-                    return; // Skip biome detection since we have locked data
-                }
+            ehg$spawnBiome = GhastVariant.END.getKey();
+        } else if (dimension == Level.OVERWORLD) {
+            // Datapack variant rules compiled into a registry-id table (BiomeVariantRules): one array read
+            // The stored spawn biome is the variant's canonical key, which is all clients need to pick the texture
+            net.minecraft.core.Holder<net.minecraft.world.level.biome.Biome> biome = serverLevel.getBiome(ghast.blockPosition());
+            GhastVariant variant = BiomeVariantRules.classify(biome);
+
+            // PRIORITY 1: Special names override ALL biome restrictions
+            if (ehg$hasRpgName || ehg$hasExcelsiesName) {
+                ehg$spawnBiome = variant != null ? variant.getKey() : GhastVariant.DEFAULT.getKey();
             }
-
-            // OVERWORLD ONLY: Detect what biome this ghast spawned in (only if no locked variant exists)
-            // This code only runs in the Overworld to prevent creating variants in Nether/End
-            // Client needs this for texture rendering, server for consistency
-            net.minecraft.core.BlockPos spawnPos = ghast.blockPosition();
-
-            if (!ghast.level().isClientSide) {
-                // SERVER SIDE: Use ServerLevel for more reliable detection
-                if (ghast.level() instanceof net.minecraft.server.level.ServerLevel serverLevel) {
-                    net.minecraft.resources.ResourceKey<net.minecraft.world.level.biome.Biome> biomeKey =
-                        serverLevel.getBiome(spawnPos).unwrapKey().orElse(null);
-                    if (biomeKey != null) {
-                        String detectedBiome = biomeKey.location().toString();
-
-                        // PRIORITY 1: Special names override ALL biome restrictions
-                        if (ehg$hasRpgName || ehg$hasExcelsiesName) {
-                            ehg$spawnBiome = detectedBiome; // Use any biome for special names
-                            ehg$biomeDetected = true;
-                        }
-                        // PRIORITY 2: Regular biome validation for non-special ghasts
-                        else if (ehg$isSupportedBiome(detectedBiome)) {
-                            ehg$spawnBiome = detectedBiome;
-                            ehg$biomeDetected = true;
-
-                            // MUSHROOM VARIANT DETECTION: Set mushroom variant flag for all mushroom biomes
-                            if (detectedBiome.equals("minecraft:mushroom_fields") ||
-                                detectedBiome.equals("minecraft:mushroom_fields_shore") ||
-                                detectedBiome.equals("minecraft:mushroom_fields_plateau")) {
-                                ehg$isMushroomVariant = true;
-                                ehg$mushroomType = "red"; // Always spawn as red mushroom in mushroom biomes
-                            }
-                        } else {
-                            ehg$spawnBiome = "minecraft:plains";
-                            ehg$biomeDetected = true;
-                            System.out.println("GhastTopia: SERVER - Unsupported biome detected: " + detectedBiome + " for ghast " + ghast.getUUID() + " - using plains texture");
-                        }
-                    } else {
-                        ehg$spawnBiome = "minecraft:plains";
-                        ehg$biomeDetected = true;
-                        System.out.println("GhastTopia: SERVER - No biome key found for ghast " + ghast.getUUID() + " - using plains texture");
-                    }
+            // PRIORITY 2: Biome variant for non-special ghasts
+            else if (variant != null) {
+                ehg$spawnBiome = variant.getKey();
+
+                // MUSHROOM VARIANT DETECTION: Set mushroom variant flag for biomes with the mushroom variant
+                if (variant == GhastVariant.MUSHROOM) {
+                    ehg$isMushroomVariant = true;
+                    ehg$mushroomType = "red"; // Always spawn as red mushroom in mushroom biomes
                 }
             } else {
-                // CLIENT SIDE: Use client level for texture rendering
-                net.minecraft.resources.ResourceKey<net.minecraft.world.level.biome.Biome> biomeKey =
-                    ghast.level().getBiome(spawnPos).unwrapKey().orElse(null);
-                if (biomeKey != null) {
-                    String detectedBiome = biomeKey.location().toString();
-
-                    // PRIORITY 1: Special names override ALL biome restrictions
-                    if (ehg$hasRpgName || ehg$hasExcelsiesName) {
-                        ehg$spawnBiome = detectedBiome; // Use any biome for special names
-                        ehg$biomeDetected = true;
-                    }
-                    // PRIORITY 2: Regular biome validation for non-special ghasts
-                    else if (ehg$isSupportedBiome(detectedBiome)) {
-                        ehg$spawnBiome = detectedBiome;
-                        ehg$biomeDetected = true;
-                        System.out.println("GhastTopia: CLIENT - Detected supported biome: " + detectedBiome + " for ghast " + ghast.getUUID());
-
-                        // MUSHROOM VARIANT DETECTION: Set mushroom variant flag for all mushroom biomes
-                        if (detectedBiome.equals("minecraft:mushroom_fields") ||
-                            detectedBiome.equals("minecraft:mushroom_fields_shore") ||
-                            detectedBiome.equals("minecraft:mushroom_fields_plateau")) {
-                            ehg$isMushroomVariant = true;
-                            ehg$mushroomType = "red"; // Always spawn as red mushroom in mushroom biomes
-                            // Reduced logging: Only log mushroom variant detection occasionally
-                            if (ghast.tickCount % 100 == 0) {
-                                String ghastType = ghast.isBaby() ? "baby" : "adult";
-                                System.out.println("GhastTopia: Red mushroom " + ghastType + " ghast " + ghast.getUUID() + " detected");
-                            }
-                        }
-                    } else {
-                        ehg$spawnBiome = "minecraft:plains";
-                        ehg$biomeDetected = true;
-                        System.out.println("GhastTopia: CLIENT - Unsupported biome detected: " + detectedBiome + " for ghast " + ghast.getUUID() + " - using plains texture");
-                    }
-                } else {
-                    ehg$spawnBiome = "minecraft:plains";
-                    ehg$biomeDetected = true;
-                    System.out.println("GhastTopia: CLIENT - No biome key found for ghast " + ghast.getUUID() + " - using plains texture");
-                }
+                ehg$spawnBiome = GhastVariant.DEFAULT.getKey();
+                GhastTopia.LOGGER.debug("No variant rule for biome {} of ghast {} - using plains texture",
+                    biome.unwrapKey().map(key -> key.location().toString()).orElse("unknown"), ghast.getUUID());
             }
+        } else if (!ehg$hasRpgName && !ehg$hasExcelsiesName) {
+            // Other custom dimensions - only special names get a variant
+            return;
         }
+        ehg$biomeDetected = true;
 
-        // OPTIMIZATION: Safety check with early exit if already detected
-        if (!ehg$biomeDetected && ghast.tickCount > 20) {
-            ehg$spawnBiome = "minecraft:plains";
-            ehg$biomeDetected = true;
-        }
+        // PERSISTENCE: One store write; unsupported biomes get a locked plains texture too,
+        // which prevents texture changes on reload/dimension travel
+        ehg$registerWithWorldData();
+        ehg$saveBiomeToPersistentData();
+        ehg$publishVariantData();
+    }
 
-        // PERSISTENCE: Save biome data using both persistent data and world data when first detected
-        if (ehg$biomeDetected && ghast.tickCount == 15) {
-            ehg$saveBiomeToPersistentData();
+    // ===== MAIN TICK METHOD - RUNS EVERY GAME TICK (20 TIMES PER SECOND) =====
+    // Variant classification no longer happens here (see ehg$classifyVariant)
+    // Performance optimized to minimize CPU usage with large numbers of ghasts
+    @Inject(method = "tick", at = @At("HEAD"))
+    private void ehg$testTick(CallbackInfo ci) {
+        HappyGhast ghast = (HappyGhast)(Object)this;
 
-            // CRITICAL: Register ALL ghasts to prevent texture changes on reload/dimension travel
-            // Supported biomes get their custom texture, unsupported biomes get locked plains texture
-            ehg$registerWithWorldData();
-        }
-        } // End of biome detection else block
+        // Periodic work (e.g. the red mushroom status log) runs from GhastTaskScheduler, not from tickCount checks
 
-        // DEBUG: Reduced periodic mushroom variant status logging (every 30 seconds, only for red mushroom ghasts)
-        if (ghast.tickCount % 600 == 0 && ehg$isMushroomVariant && "red".equals(ehg$mushroomType)) {
-            String ghastType = ghast.isBaby() ? "baby" : "adult";
-            System.out.println("GhastTopia: Red mushroom " + ghastType + " ghast " + ghast.getUUID() + " ready for lightning transformation");
+        // Only mushroom ghasts take part in fire and lightning transformations; every other ghast stops here
+        // (an indexed ghast that stopped being a mushroom variant still runs once more to leave the index)
+        if (!ehg$isMushroomVariant && ehg$indexedSection == TransformableGhastIndex.NOT_INDEXED) {
+            return;
         }
 
-        // LIGHTNING DETECTION: Check for nearby lightning bolts every tick (server-side only)
-        // Only check if this is a red mushroom ghast and not on cooldown
-        if (!ghast.level().isClientSide && ehg$isMushroomVariant && "red".equals(ehg$mushroomType)) {
-            // Decrease cooldown timer
-            if (ehg$lightningCooldown > 0) {
-                ehg$lightningCooldown--;
-            } else {
-                ehg$checkForNearbyLightning(ghast);
+        // SPATIAL INDEX: Refile this ghast only when it changes section or stops/starts being transformable
+        if (ghast.level() instanceof ServerLevel serverLevel) {
+            long sectionKey = TransformableGhastIndex.keyFor(ghast, ehg$isTransformable());
+            if (sectionKey != ehg$indexedSection) {
+                ehg$indexedSection = sectionKey;
+                TransformableGhastIndex.update(serverLevel, ghast, sectionKey);
             }
         }
 
-        // OPTIMIZATION: SPECIAL NAME DETECTION - Reduced frequency to every 60 ticks (3 seconds)
-        // This runs for ALL ghasts (locked or not) to allow name changes after biome assignment
-        if (ghast.tickCount % 60 == 0) {
-            if (ghast.hasCustomName()) {
-                String nameString = ghast.getCustomName().getString().toLowerCase();
-
-                // Check for "rpg" name (ignoring uppercase/lowercase)
-                boolean newRpgStatus = nameString.equals("rpg");
-                if (newRpgStatus != ehg$hasRpgName) {
-                    ehg$hasRpgName = newRpgStatus;
-                    ehg$saveBiomeToPersistentData(); // Save when name status changes
-                    ehg$updateWorldDataNames(); // Update world data system
-                }
-
-                // Check for "excelsies" name (ignoring uppercase/lowercase)
-                boolean newExcelsiesStatus = nameString.equals("excelsies");
-                if (newExcelsiesStatus != ehg$hasExcelsiesName) {
-                    ehg$hasExcelsiesName = newExcelsiesStatus;
-                    ehg$saveBiomeToPersistentData(); // Save when name status changes
-                    ehg$updateWorldDataNames(); // Update world data system
-                }
-            } else {
-                // The ghast has no name - clear both special name statuses
-                boolean needsSave = false;
-                if (ehg$hasRpgName) {
-                    ehg$hasRpgName = false;
-                    needsSave = true;
-                }
-                if (ehg$hasExcelsiesName) {
-                    ehg$hasExcelsiesName = false;
-                    needsSave = true;
-                }
-                if (needsSave) {
-                    ehg$saveBiomeToPersistentData(); // Save when name status changes
-                    ehg$updateWorldDataNames(); // Update world data system
+        // LIGHTNING DETECTION: Bolts and newly placed fire find nearby ghasts themselves (MushroomTransformations)
+        // Here a red mushroom ghast only checks for fire that was already burning, and only after moving to a new block
+        if (ghast.level() instanceof ServerLevel serverLevel && ehg$isLightningSusceptible(serverLevel.getGameTime())) {
+            net.minecraft.core.BlockPos pos = ghast.blockPosition();
+            if (!pos.equals(ehg$lastFireCheckPos)) {
+                ehg$lastFireCheckPos = pos;
+                if (MushroomTransformations.isFireNear(serverLevel, pos, ehg$getLightningRadius())) {
+                    GhastTopia.LOGGER.debug("Fire detected near mushroom ghast {}", ghast.getUUID());
+                    MushroomTransformations.queueTransformation(serverLevel, ghast, null);
                 }
             }
         }
@@ -316,33 +237,35 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
     // This runs whenever someone uses a name tag on the ghast
     @Inject(method = "setCustomName*", at = @At("TAIL"))
     private void ehg$testSetCustomName(net.minecraft.network.chat.Component name, CallbackInfo ci) {
-        // Check if the new name is a special name for texture override
-        if (name != null) {
-            String nameString = name.getString().toLowerCase();
-
-            // Check for "rpg" name
-            ehg$hasRpgName = nameString.equals("rpg");
-            if (ehg$hasRpgName) {
-                System.out.println("Enhanced Happy Ghast RPG name detected: " + name.getString());
-            }
+        ehg$applySpecialName(name);
+    }
 
-            // Check for "excelsies" name
-            ehg$hasExcelsiesName = nameString.equals("excelsies");
-            if (ehg$hasExcelsiesName) {
-                System.out.println("Enhanced Happy Ghast Excelsies name detected: " + name.getString());
-            }
+    // Re-check the current name against the configured special names (entity load, config changes)
+    @Override
+    public void ehg$refreshSpecialName() {
+        ehg$applySpecialName(((HappyGhast)(Object)this).getCustomName());
+    }
 
-            // Save the name status immediately
-            ehg$saveBiomeToPersistentData();
-            ehg$updateWorldDataNames();
-        } else {
-            // No name was set - clear both special name statuses
-            ehg$hasRpgName = false;
-            ehg$hasExcelsiesName = false;
-            // Save the cleared name status
-            ehg$saveBiomeToPersistentData();
-            ehg$updateWorldDataNames();
+    // Look the name up in the compiled special names and save only when the override actually changes
+    @Unique
+    private void ehg$applySpecialName(net.minecraft.network.chat.Component name) {
+        SpecialNames.TextureOverride override = SpecialNames.match(name);
+        boolean rpgName = override == SpecialNames.TextureOverride.RPG;
+        boolean excelsiesName = override == SpecialNames.TextureOverride.EXCELSIES;
+        if (rpgName == ehg$hasRpgName && excelsiesName == ehg$hasExcelsiesName) {
+            return;
         }
+
+        ehg$hasRpgName = rpgName;
+        ehg$hasExcelsiesName = excelsiesName;
+        if (override != SpecialNames.TextureOverride.NONE) {
+            GhastTopia.LOGGER.debug("Special name detected for ghast {}: {} ({})",
+                ((HappyGhast)(Object)this).getUUID(), name.getString(), override);
+        }
+
+        // Save the name status immediately
+        ehg$saveBiomeToPersistentData();
+        ehg$updateWorldDataNames();
     }
 
     // INTERFACE METHODS: Allow other parts of the mod to access our custom data
@@ -351,6 +274,9 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
     // Get the biome this ghast spawned in (like "minecraft:forest")
     @Override
     public String ehg$getSpawnBiome() {
+        if (ehg$useSyncedData()) {
+            return ((HappyGhast)(Object)this).getEntityData().get(EHG$DATA_SPAWN_BIOME);
+        }
         return ehg$spawnBiome;
     }
 
@@ -363,6 +289,9 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
     // Check if this ghast is named "rpg" for special texture
     @Override
     public boolean ehg$hasRpgName() {
+        if (ehg$useSyncedData()) {
+            return ehg$hasSyncedFlag(EHG$FLAG_RPG_NAME);
+        }
         return ehg$hasRpgName;
     }
 
@@ -375,6 +304,9 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
     // Check if this ghast is named "excelsies" for special texture
     @Override
     public boolean ehg$hasExcelsiesName() {
+        if (ehg$useSyncedData()) {
+            return ehg$hasSyncedFlag(EHG$FLAG_EXCELSIES_NAME);
+        }
         return ehg$hasExcelsiesName;
     }
 
@@ -413,6 +345,9 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
     // Check if this ghast is a mushroom variant (red or brown)
     @Override
     public boolean ehg$isMushroomVariant() {
+        if (ehg$useSyncedData()) {
+            return ehg$hasSyncedFlag(EHG$FLAG_MUSHROOM);
+        }
         return ehg$isMushroomVariant;
     }
 
@@ -425,6 +360,9 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
     // Get the mushroom type ("red" or "brown")
     @Override
     public String ehg$getMushroomType() {
+        if (ehg$useSyncedData()) {
+            return ehg$hasSyncedFlag(EHG$FLAG_BROWN_MUSHROOM) ? "brown" : "red";
+        }
         return ehg$mushroomType;
     }
 
@@ -434,72 +372,74 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
         ehg$mushroomType = mushroomType != null ? mushroomType : "red";
     }
 
-    // ===== LIGHTNING TRANSFORMATION SYSTEM =====
-    // Enhanced lightning detection for Happy Ghasts
-    // Detects lightning bolts in a larger area and handles transformation
+    // Check if this ghast has a locked texture variant (server field, or the synced flag on the client)
+    @Override
+    public boolean ehg$hasLockedVariant() {
+        return ehg$hasLockedVariant || ehg$useSyncedData();
+    }
+
+    // Set whether this ghast has a locked texture variant
+    @Override
+    public void ehg$setHasLockedVariant(boolean hasLockedVariant) {
+        ehg$hasLockedVariant = hasLockedVariant;
+    }
+
+    // ===== SYNCED ENTITY DATA HELPERS =====
+
+    // Client side: the server has published a locked variant through the synced entity data
     @Unique
-    private void ehg$checkForNearbyLightning(HappyGhast ghast) {
-        if (!(ghast.level() instanceof net.minecraft.server.level.ServerLevel serverLevel)) {
+    private boolean ehg$useSyncedData() {
+        HappyGhast ghast = (HappyGhast)(Object)this;
+        return ghast.level().isClientSide && ehg$hasSyncedFlag(EHG$FLAG_LOCKED);
+    }
+
+    @Unique
+    private boolean ehg$hasSyncedFlag(byte flag) {
+        return (((HappyGhast)(Object)this).getEntityData().get(EHG$DATA_VARIANT_FLAGS) & flag) != 0;
+    }
+
+    // Server side: copy the current variant fields into the synced entity data
+    // SynchedEntityData only marks values dirty when they actually change, so repeated calls are cheap
+    @Unique
+    private void ehg$publishVariantData() {
+        HappyGhast ghast = (HappyGhast)(Object)this;
+        if (ghast.level().isClientSide) {
             return;
         }
 
-        // Larger detection radius for better lightning detection
-        double detectionRadius = ghast.isBaby() ? 6.0 : 8.0;
-        net.minecraft.world.phys.AABB searchArea = ghast.getBoundingBox().inflate(detectionRadius);
+        byte flags = 0;
+        if (ehg$hasRpgName) flags |= EHG$FLAG_RPG_NAME;
+        if (ehg$hasExcelsiesName) flags |= EHG$FLAG_EXCELSIES_NAME;
+        if (ehg$isMushroomVariant) flags |= EHG$FLAG_MUSHROOM;
+        if ("brown".equals(ehg$mushroomType)) flags |= EHG$FLAG_BROWN_MUSHROOM;
+        if (ehg$hasLockedVariant) flags |= EHG$FLAG_LOCKED;
 
-        // Find all lightning bolt entities near this ghast
-        java.util.List<net.minecraft.world.entity.LightningBolt> nearbyLightning =
-            serverLevel.getEntitiesOfClass(net.minecraft.world.entity.LightningBolt.class, searchArea);
+        SynchedEntityData entityData = ghast.getEntityData();
+        entityData.set(EHG$DATA_SPAWN_BIOME, ehg$spawnBiome);
+        entityData.set(EHG$DATA_VARIANT_FLAGS, flags);
+    }
 
-        // Also check for recent lightning strikes by looking for fire blocks
-        if (nearbyLightning.isEmpty()) {
-            ehg$checkForLightningFire(ghast, serverLevel, detectionRadius);
-        }
+    // ===== LIGHTNING TRANSFORMATION SYSTEM =====
+    // Triggered by lightning bolts and fire near the ghast (see MushroomTransformations), never polled per tick
+    @Override
+    public boolean ehg$isTransformable() {
+        return ehg$isMushroomVariant && "red".equals(ehg$mushroomType);
+    }
 
-        for (net.minecraft.world.entity.LightningBolt lightningBolt : nearbyLightning) {
-            // Check if this lightning bolt is close enough
-            double distance = ghast.distanceTo(lightningBolt);
-            if (distance <= detectionRadius) {
-                String ghastType = ghast.isBaby() ? "baby" : "adult";
-                System.out.println("GhastTopia: Lightning bolt detected within " + distance + " blocks of " + ghastType + " mushroom ghast!");
-                ehg$handleLightningTransformation(serverLevel, lightningBolt);
-                break; // Only transform once per tick
-            }
-        }
+    @Override
+    public boolean ehg$isLightningSusceptible(long gameTime) {
+        return ehg$isTransformable() && gameTime >= ehg$lightningCooldownUntil;
     }
 
-    // Check for fire blocks that indicate recent lightning strikes
-    @Unique
-    private void ehg$checkForLightningFire(HappyGhast ghast, net.minecraft.server.level.ServerLevel serverLevel, double radius) {
-        net.minecraft.core.BlockPos ghastPos = ghast.blockPosition();
-        int radiusInt = (int) Math.ceil(radius);
-
-        // Check for fire blocks in the area (lightning often creates fire)
-        for (int x = -radiusInt; x <= radiusInt; x++) {
-            for (int y = -radiusInt; y <= radiusInt; y++) {
-                for (int z = -radiusInt; z <= radiusInt; z++) {
-                    net.minecraft.core.BlockPos checkPos = ghastPos.offset(x, y, z);
-                    double distance = Math.sqrt(x*x + y*y + z*z);
-
-                    if (distance <= radius) {
-                        net.minecraft.world.level.block.state.BlockState blockState = serverLevel.getBlockState(checkPos);
-
-                        // Check for fire blocks (common result of lightning)
-                        if (blockState.is(net.minecraft.world.level.block.Blocks.FIRE)) {
-                            String ghastType = ghast.isBaby() ? "baby" : "adult";
-                            System.out.println("GhastTopia: Lightning fire detected within " + distance + " blocks of " + ghastType + " mushroom ghast!");
-                            ehg$handleLightningTransformation(serverLevel, null);
-                            return; // Only transform once
-                        }
-                    }
-                }
-            }
-        }
+    @Override
+    public double ehg$getLightningRadius() {
+        HappyGhast ghast = (HappyGhast)(Object)this;
+        return ghast.isBaby() ? 6.0 : 8.0;
     }
 
     // Unified lightning transformation handler
-    @Unique
-    private void ehg$handleLightningTransformation(net.minecraft.server.level.ServerLevel serverLevel,
+    @Override
+    public void ehg$handleLightningTransformation(net.minecraft.server.level.ServerLevel serverLevel,
                                                   net.minecraft.world.entity.LightningBolt lightningBolt) {
         HappyGhast ghast = (HappyGhast)(Object)this;
 
@@ -528,7 +468,7 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
         ehg$mushroomType = "brown";
 
         // Set cooldown to prevent multiple transformations (5 seconds)
-        ehg$lightningCooldown = 100; // 5 seconds at 20 ticks per second
+        ehg$lightningCooldownUntil = serverLevel.getGameTime() + 100; // 5 seconds at 20 ticks per second
 
         // PERSISTENCE: Save the transformation immediately to persistent data
         ehg$saveBiomeToPersistentData();
@@ -544,7 +484,7 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
     }
 
     // DEBUG: Manual transformation method for testing
-    @Unique
+    @Override
     public void ehg$debugTransformToBrown() {
         HappyGhast ghast = (HappyGhast)(Object)this;
 
@@ -592,6 +532,8 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
                 ghast, transformationBiome, ehg$hasRpgName, ehg$hasExcelsiesName,
                 ehg$isMushroomVariant, ehg$mushroomType);
         }
+
+        ehg$publishVariantData();
     }
 
     // PROPER NBT PERSISTENCE: Use entity's persistent data capability
@@ -738,7 +680,9 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
                 ghast.getUUID(), ehg$hasRpgName, ehg$hasExcelsiesName, serverLevel);
 
             // CRITICAL: Force sync after name update
-            HappyGhastTextureManager.forceSyncToAllClients(ghast.getUUID());
+            HappyGhastTextureManager.forceSyncToClients(ghast);
+
+            ehg$publishVariantData();
 
             System.out.println("GhastTopia: Updated special names for ghast " + ghast.getUUID() +
                              " - RPG: " + ehg$hasRpgName + ", Excelsies: " + ehg$hasExcelsiesName +
@@ -747,131 +691,6 @@ public class EnhancedHappyGhastMixin implements IEnhancedHappyGhastMixin {
     }
 
     
-    @Unique
-    private boolean ehg$isSupportedBiome(String biome) {
-        // Desert biomes - use desert_ghast.png
-        if (biome.equals("minecraft:desert") || biome.equals("minecraft:desert_lakes")) {
-            return true;
-        }
-
-        // Forest biomes - use forest_ghast.png or darkoak_ghast.png
-        if (biome.equals("minecraft:forest") || biome.equals("minecraft:flower_forest") ||
-            biome.equals("minecraft:birch_forest") || biome.equals("minecraft:dark_forest") ||
-            biome.equals("minecraft:old_growth_birch_forest")) {
-            return true;
-        }
-
-        // Ocean biomes - use ocean_ghast.png or coral_ghast.png
-        if (biome.equals("minecraft:ocean") || biome.equals("minecraft:deep_ocean") ||
-            biome.equals("minecraft:cold_ocean") || biome.equals("minecraft:deep_cold_ocean") ||
-            biome.equals("minecraft:warm_ocean") || biome.equals("minecraft:deep_warm_ocean") ||
-            biome.equals("minecraft:lukewarm_ocean") || biome.equals("minecraft:deep_lukewarm_ocean")) {
-            return true;
-        }
-
-        // Taiga biomes - use taiga_ghast.png
-        if (biome.equals("minecraft:taiga") || biome.equals("minecraft:old_growth_pine_taiga") ||
-            biome.equals("minecraft:old_growth_spruce_taiga") || biome.equals("minecraft:taiga_hills") ||
-            biome.equals("minecraft:taiga_mountains")) {
-            return true;
-        }
-
-        // Swamp biomes - use swamp_ghast.png
-        if (biome.equals("minecraft:swamp") || biome.equals("minecraft:swamp_hills") ||
-            biome.equals("minecraft:swamp_mountains") || biome.equals("minecraft:swamp_edge") ||
-            biome.equals("minecraft:swamp_edge_hills") || biome.equals("minecraft:swamp_edge_mountains") ||
-            biome.equals("minecraft:mangrove_swamp") || biome.equals("minecraft:mangrove_swamp_hills") ||
-            biome.equals("minecraft:mangrove_swamp_mountains")) {
-            return true;
-        }
-
-        // Jungle biomes - use jungle_ghast.png
-        if (biome.equals("minecraft:jungle") || biome.equals("minecraft:jungle_hills") ||
-            biome.equals("minecraft:jungle_mountains") || biome.equals("minecraft:jungle_edge") ||
-            biome.equals("minecraft:jungle_edge_hills") || biome.equals("minecraft:jungle_edge_mountains") ||
-            biome.equals("minecraft:sparse_jungle") || biome.equals("minecraft:sparse_jungle_hills") ||
-            biome.equals("minecraft:sparse_jungle_mountains") || biome.equals("minecraft:bamboo_jungle") ||
-            biome.equals("minecraft:bamboo_jungle_hills") || biome.equals("minecraft:bamboo_jungle_mountains"))  {
-            return true;
-        }
-
-        // Continue with remaining biomes...
-        return ehg$isSupportedBiomePart2(biome);
-    }
-
-    /**
-     * Second part of biome support check (split for readability)
-     */
-    @Unique
-    private boolean ehg$isSupportedBiomePart2(String biome) {
-        // Savanna biomes - use savanna_ghast.png
-        if (biome.equals("minecraft:savanna") || biome.equals("minecraft:savanna_plateau") ||
-                biome.equals("minecraft:shattered_savanna") || biome.equals("minecraft:shattered_savanna_plateau") ||
-                biome.equals("minecraft:windy_savanna") || biome.equals("minecraft:windy_savanna_plateau")) {
-            return true;
-        }
-
-        // Badlands biomes - use badlands_ghast.png
-        if (biome.equals("minecraft:badlands") || biome.equals("minecraft:wooded_badlands_plateau") ||
-                biome.equals("minecraft:eroded_badlands")) {
-            return true;
-        }
-
-        // Snowy/Ice biomes - use ice_ghast.png
-        if (biome.equals("minecraft:snowy_plains") || biome.equals("minecraft:snowy_mountains") ||
-                biome.equals("minecraft:snowy_taiga") || biome.equals("minecraft:snowy_taiga_mountains") ||
-                biome.equals("minecraft:snowy_taiga_hills") || biome.equals("minecraft:ice_spikes") ||
-                biome.equals("minecraft:deep_frozen_ocean") || biome.equals("minecraft:frozen_ocean") ||
-                biome.equals("minecraft:frozen_river") || biome.equals("minecraft:glacier")) {
-            return true;
-        }
-
-        // Cherry Grove biomes - use cherry_ghast.png
-        if (biome.equals("minecraft:cherry_grove") || biome.equals("minecraft:cherry_grove_mountains") ||
-                biome.equals("minecraft:cherry_grove_hills") || biome.equals("minecraft:cherry_grove_mountains_hills") ||
-                biome.equals("minecraft:cherry_grove_mountains_plateau") || biome.equals("minecraft:cherry_grove_mountains_plateau_hills")) {
-            return true;
-        }
-
-        // Lush Caves biomes - use lush_ghast.png
-        if (biome.equals("minecraft:lush_caves") || biome.equals("minecraft:lush_caves_mountains") ||
-                biome.equals("minecraft:lush_caves_mountains_hills") || biome.equals("minecraft:lush_caves_mountains_plateau")) {
-            return true;
-        }
-
-    
-        
-        
-        
-
-        // Mushroom biomes - use red_mushroom_ghast.png (can transform to brown)
-        if (biome.equals("minecraft:mushroom_fields") || biome.equals("minecraft:mushroom_fields_shore") ||
-            biome.equals("minecraft:mushroom_fields_plateau")) {
-            return true;
-        }
-
-        // The End biome - use end_ghast.png
-        if (biome.equals("minecraft:the_end")) {
-            return true;
-        }
-
-        // Plains biomes - use happy_ghast.png (default)
-        if (biome.equals("minecraft:plains") || biome.equals("minecraft:meadows")) {
-            return true;
-        }
-
-        // Deep Dark biomes - use deep_dark_ghast.png (if you have this texture)
-        if (biome.equals("minecraft:deep_dark")) {
-            return true;
-        }
-
-        // Pale Garden biomes - use pale_garden_ghast.png (if you have this texture)
-        if (biome.equals("minecraft:pale_garden")) {
-            return true;
-        }
-
-        return false; // Unsupported biome
-    }
 
     // Spawn visual particles when mushroom ghast transforms
     // Provides visual feedback similar to Mooshroom transformation
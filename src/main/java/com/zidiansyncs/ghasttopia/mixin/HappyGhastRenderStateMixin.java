@@ -23,6 +23,7 @@ public class HappyGhastRenderStateMixin implements IEnhancedHappyGhastMixin {
     @Unique private UUID ehg$ghastId = null;                            // Ghast UUID for world data lookup
     @Unique private boolean ehg$isMushroomVariant = false;              // Mushroom variant status for texture selection
     @Unique private String ehg$mushroomType = "red";                    // Mushroom type ("red" or "brown") for texture selection
+    @Unique private boolean ehg$hasLockedVariant = false;               // True when the variant data came from the server (synced entity data)
 
     // Interface implementation methods - provide access to Enhanced Happy Ghast render data
     // These methods are called by the renderer to access texture variant information
@@ -102,4 +103,15 @@ public class HappyGhastRenderStateMixin implements IEnhancedHappyGhastMixin {
     public void ehg$setMushroomType(String mushroomType) {
         ehg$mushroomType = mushroomType != null ? mushroomType : "red";
     }
+
+    // Locked variant access - used by renderer to trust the synced variant data without a world data lookup
+    @Override
+    public boolean ehg$hasLockedVariant() {
+        return ehg$hasLockedVariant;
+    }
+
+    @Override
+    public void ehg$setHasLockedVariant(boolean hasLockedVariant) {
+        ehg$hasLockedVariant = hasLockedVariant;
+    }
 }
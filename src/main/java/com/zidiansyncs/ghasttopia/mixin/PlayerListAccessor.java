@@ -0,0 +1,15 @@
+package com.zidiansyncs.ghasttopia.mixin;
+
+// Player List Accessor - Exposes the player data storage of the server's player list
+// The variant preload reads a joining player's saved position from it before the player exists
+
+import net.minecraft.server.players.PlayerList;
+import net.minecraft.world.level.storage.PlayerDataStorage;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(PlayerList.class)
+public interface PlayerListAccessor {
+    @Accessor("playerIo")
+    PlayerDataStorage ehg$getPlayerIo();
+}
@@ -0,0 +1,29 @@
+package com.zidiansyncs.ghasttopia.mixin;
+
+import com.zidiansyncs.ghasttopia.texture.FireSourceIndex;
+import com.zidiansyncs.ghasttopia.texture.MushroomTransformations;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+// Mixin target: Vanilla ServerLevel class
+// Block change notifications keep the fire index current and let fire find nearby red mushroom ghasts,
+// instead of every ghast scanning for fire each tick
+@Mixin(ServerLevel.class)
+public class ServerLevelMixin {
+
+    // Called for every block state change in a loaded chunk; only fire appearing or going out is of interest
+    @Inject(method = "onBlockStateChange", at = @At("HEAD"))
+    private void ehg$onBlockStateChange(BlockPos pos, BlockState oldState, BlockState newState, CallbackInfo ci) {
+        ServerLevel serverLevel = (ServerLevel)(Object)this;
+        FireSourceIndex.onBlockChanged(serverLevel, pos, oldState, newState);
+        if (newState.is(Blocks.FIRE) && !oldState.is(Blocks.FIRE)) {
+            MushroomTransformations.onFirePlaced(serverLevel, pos);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.texture.GhastResidencyIndex;
+import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Paced bulk sync of the variant store to one player (SERVER-SIDE ONLY)
+ *
+ * The store is snapshotted as a queue of ghast ids, nearest loaded ghasts first, and sent as
+ * bounded {@link BulkTextureSyncPacket} frames a few per tick instead of one large payload.
+ * The latest variant is looked up when a frame is built, so variants changed or removed
+ * while the stream is running are sent up to date or skipped.
+ * An optional completion payload is sent right after the last frame.
+ */
+public class BulkSyncStream {
+
+    private final LinkedHashSet<UUID> pending;
+    private Supplier<CustomPacketPayload> completion;
+    private int framesSent = 0;
+
+    private BulkSyncStream(LinkedHashSet<UUID> pending) {
+        this.pending = pending;
+    }
+
+    /**
+     * Snapshot the given ghasts, ordered by distance from the player to the chunk each ghast lives in
+     * Ghasts in unloaded chunks nearby come before far-away ones; ghasts in other levels go last
+     */
+    public static BulkSyncStream snapshot(ServerPlayer player, Collection<UUID> ghastIds) {
+        ServerLevel level = (ServerLevel) player.level();
+        Map<UUID, Double> distances = new HashMap<>();
+        List<UUID> ids = new ArrayList<>(ghastIds.size());
+        for (UUID ghastId : ghastIds) {
+            distances.put(ghastId, GhastResidencyIndex.distanceSqr(ghastId, level, player.blockPosition()));
+            ids.add(ghastId);
+        }
+        ids.sort(Comparator.comparingDouble(distances::get));
+        return new BulkSyncStream(new LinkedHashSet<>(ids));
+    }
+
+    /**
+     * Send the given payload once the last frame has been sent
+     * Built lazily so it reflects the store at completion time
+     */
+    public BulkSyncStream thenSend(Supplier<CustomPacketPayload> completion) {
+        this.completion = completion;
+        return this;
+    }
+
+    /**
+     * Queue the ghasts of another snapshot behind this one (keeps this stream's completion payload)
+     */
+    public void merge(BulkSyncStream other) {
+        pending.addAll(other.pending);
+        if (completion == null) {
+            completion = other.completion;
+        }
+    }
+
+    /**
+     * Send up to {@code maxFrames} frames of at most {@code frameSize} variants, within the player's send budget
+     *
+     * @return true when the stream has been fully sent
+     */
+    public boolean sendFrames(ServerPlayer player, VariantPalette palette, SendBudget budget, int frameSize, int maxFrames) {
+        Iterator<UUID> iterator = pending.iterator();
+        for (int frame = 0; frame < maxFrames && iterator.hasNext() && budget.hasTokens(); frame++) {
+            int limit = Math.min(frameSize, budget.affordableVariants());
+            List<HappyGhastTextureManager.HappyGhastTextureVariant> batch = new ArrayList<>(limit);
+            while (batch.size() < limit && iterator.hasNext()) {
+                var variant = HappyGhastTextureManager.getTextureVariant(iterator.next());
+                iterator.remove();
+                if (variant != null && variant.isLocked) {
+                    batch.add(variant);
+                }
+            }
+            if (!batch.isEmpty()) {
+                BulkTextureSyncPacket packet = BulkTextureSyncPacket.create(palette, batch);
+                NetworkMetrics.sendToPlayer(player, packet);
+                budget.consume(SendBudget.payloadBytes(packet, packet.encodedSize()));
+                framesSent++;
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            return false;
+        }
+        if (completion != null) {
+            NetworkMetrics.sendToPlayer(player, completion.get());
+        }
+        return true;
+    }
+
+    public int remaining() {
+        return pending.size();
+    }
+
+    public int framesSent() {
+        return framesSent;
+    }
+}
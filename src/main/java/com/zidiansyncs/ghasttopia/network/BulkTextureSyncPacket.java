@@ -3,19 +3,28 @@ package com.zidiansyncs.ghasttopia.network;
 import com.zidiansyncs.ghasttopia.GhastTopia;
 import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
 import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.VarInt;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 /**
  * Packet for synchronizing multiple texture variants from server to client
+ * Newly defined palette strings, varint entry count, then variants in the compact {@link VariantWireFormat} layout.
+ * Packets are built per player, since the string table refers to that player's connection palette.
+ * A built packet holds the {@code variants}; a decoded one holds the raw {@code entries}, resolved by the handler.
  */
 public record BulkTextureSyncPacket(
-    Map<UUID, HappyGhastTextureManager.HappyGhastTextureVariant> variants
+    VariantStringTable strings,
+    Map<UUID, HappyGhastTextureManager.HappyGhastTextureVariant> variants,
+    List<VariantWireFormat.Entry> entries
 ) implements CustomPacketPayload {
     
     public static final Type<BulkTextureSyncPacket> TYPE = 
@@ -24,40 +33,48 @@ public record BulkTextureSyncPacket(
     public static final StreamCodec<RegistryFriendlyByteBuf, BulkTextureSyncPacket> STREAM_CODEC = 
         StreamCodec.of(
             (buf, packet) -> {
-                buf.writeInt(packet.variants.size());
+                VariantStringTable.write(buf, packet.strings);
+                buf.writeVarInt(packet.variants.size());
                 for (var variant : packet.variants.values()) {
-                    buf.writeLong(variant.ghastId.getMostSignificantBits());
-                    buf.writeLong(variant.ghastId.getLeastSignificantBits());
-                    buf.writeUtf(variant.spawnBiome != null ? variant.spawnBiome : "minecraft:plains");
-                    buf.writeUtf(variant.mushroomType != null ? variant.mushroomType : "red");
-                    buf.writeBoolean(variant.hasRpgName);
-                    buf.writeBoolean(variant.hasExcelsiesName);
-                    buf.writeBoolean(variant.isMushroomVariant);
-                    buf.writeBoolean(variant.isLocked);
+                    VariantWireFormat.writeVariant(buf, packet.strings, variant);
                 }
             },
             buf -> {
-                int count = buf.readInt();
-                Map<UUID, HappyGhastTextureManager.HappyGhastTextureVariant> variants = new HashMap<>();
+                var strings = VariantStringTable.read(buf);
+                int count = buf.readVarInt();
+                List<VariantWireFormat.Entry> entries = new ArrayList<>(count);
                 for (int i = 0; i < count; i++) {
-                    UUID ghastId = new UUID(buf.readLong(), buf.readLong());
-                    String spawnBiome = buf.readUtf();
-                    String mushroomType = buf.readUtf();
-                    boolean hasRpgName = buf.readBoolean();
-                    boolean hasExcelsiesName = buf.readBoolean();
-                    boolean isMushroomVariant = buf.readBoolean();
-                    boolean isLocked = buf.readBoolean();
-                    
-                    var variant = new HappyGhastTextureManager.HappyGhastTextureVariant(
-                        ghastId, spawnBiome, hasRpgName, hasExcelsiesName,
-                        isMushroomVariant, mushroomType, "minecraft:overworld"
-                    );
-                    variants.put(ghastId, variant);
+                    entries.add(VariantWireFormat.readEntry(buf));
                 }
-                return new BulkTextureSyncPacket(variants);
+                return new BulkTextureSyncPacket(strings, Map.of(), entries);
             }
         );
+
+    /**
+     * Build a packet for one player, registering the variants' strings in their connection palette
+     */
+    public static BulkTextureSyncPacket create(VariantPalette palette,
+                                               Collection<HappyGhastTextureManager.HappyGhastTextureVariant> variants) {
+        VariantPalette.Builder strings = palette.begin();
+        Map<UUID, HappyGhastTextureManager.HappyGhastTextureVariant> variantMap = new HashMap<>();
+        for (var variant : variants) {
+            strings.add(variant);
+            variantMap.put(variant.ghastId, variant);
+        }
+        return new BulkTextureSyncPacket(strings.build(), variantMap, List.of());
+    }
     
+    /**
+     * Encoded size of a built packet
+     */
+    public int encodedSize() {
+        int size = strings.encodedSize() + VarInt.getByteSize(variants.size());
+        for (var variant : variants.values()) {
+            size += VariantWireFormat.encodedSize(strings, variant);
+        }
+        return size;
+    }
+
     @Override
     public Type<? extends CustomPacketPayload> type() {
         return TYPE;
@@ -0,0 +1,200 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persistent client-side variant cache for one server (CLIENT-SIDE ONLY)
+ *
+ * On joining, cached variants are restored into the client store and summarised to the server, which then
+ * sends only what changed since the cached epoch (see {@link VariantCacheBeginPacket} / {@link VariantCacheEndPacket}).
+ * The cache is written back when leaving, but only with an epoch the client verified against the server's digest.
+ * Once {@link ClientVariantRetention} evicts entries the cache is partial: it is still brought up to date by
+ * epoch, but can no longer be verified against the digest of the whole store.
+ * Contains no client-only classes; the file location is chosen by the caller.
+ */
+public final class ClientVariantCache {
+
+    private static Path cacheFile;
+    private static UUID storeId = VariantCacheSummaryPacket.NO_STORE;
+    private static long consistentEpoch = -1;
+    private static boolean lastSyncWasFull = true;
+    private static boolean restoredFromCache = false;
+    private static boolean partial = false;
+    private static boolean serverSyncing = false; // Server sent a cache sync, so it uses sync packets
+
+    private ClientVariantCache() {
+    }
+
+    /**
+     * Restore the cache for a new connection and build the summary to send to the server
+     *
+     * @param file cache file for this server, or null to run without a persistent cache (e.g. singleplayer)
+     */
+    public static synchronized VariantCacheSummaryPacket open(Path file) {
+        cacheFile = file;
+        storeId = VariantCacheSummaryPacket.NO_STORE;
+        consistentEpoch = -1;
+        restoredFromCache = false;
+        partial = false;
+        serverSyncing = false;
+
+        if (file == null || !Files.exists(file)) {
+            return VariantCacheSummaryPacket.empty();
+        }
+
+        try {
+            CompoundTag nbt = NbtIo.readCompressed(file, NbtAccounter.unlimitedHeap());
+            String savedStoreId = nbt.getString("StoreId").orElse("");
+            long savedEpoch = nbt.getLong("Epoch").orElse(-1L);
+            if (savedStoreId.isEmpty() || savedEpoch < 0) {
+                return VariantCacheSummaryPacket.empty();
+            }
+            UUID savedStore = UUID.fromString(savedStoreId);
+
+            ListTag variantList = nbt.getList("Variants").orElse(new ListTag());
+            List<HappyGhastTextureManager.HappyGhastTextureVariant> variants = new ArrayList<>(variantList.size());
+            for (int i = 0; i < variantList.size(); i++) {
+                variants.add(new HappyGhastTextureManager.HappyGhastTextureVariant(
+                    variantList.getCompound(i).orElse(new CompoundTag())));
+            }
+
+            // Variants preloaded during configuration are newer than the cache and win
+            HappyGhastTextureManager.mergeClientVariants(variants);
+            restoredFromCache = true;
+            storeId = savedStore;
+            consistentEpoch = savedEpoch;
+            partial = nbt.getBoolean("Partial").orElse(false);
+            for (var variant : variants) {
+                ClientVariantRetention.onVariantStored(variant.ghastId);
+            }
+            return new VariantCacheSummaryPacket(storeId, savedEpoch, variants.size(), VariantDigest.storeDigest(variants), partial);
+        } catch (IOException | IllegalArgumentException e) {
+            GhastTopia.LOGGER.warn("Ignoring unreadable variant cache {}: {}", file, e.getMessage());
+            return VariantCacheSummaryPacket.empty();
+        }
+    }
+
+    /**
+     * Server started a cache sync: drop the cache for a full sync, apply removals for a delta
+     */
+    public static synchronized void onBegin(VariantCacheBeginPacket packet) {
+        storeId = packet.storeId();
+        consistentEpoch = -1;
+        lastSyncWasFull = packet.fullSync();
+        serverSyncing = true;
+
+        // Without a restored cache the store only holds preloaded (current) variants, which can stay
+        if (packet.fullSync() && restoredFromCache) {
+            HappyGhastTextureManager.clearClientVariants();
+            ClientVariantRetention.onStoreCleared();
+        }
+        if (packet.fullSync()) {
+            partial = false;
+        }
+        for (UUID ghastId : packet.removed()) {
+            HappyGhastTextureManager.removeClientVariant(ghastId);
+            ClientVariantRetention.onVariantRemoved(ghastId);
+        }
+    }
+
+    /**
+     * Server finished a cache sync: verify the store against the server's digest
+     *
+     * @return a summary requesting a full sync when a delta left the store inconsistent, otherwise null
+     */
+    public static synchronized VariantCacheSummaryPacket onEnd(VariantCacheEndPacket packet) {
+        // A partial cache cannot match the whole store; the epoch delta alone keeps it correct
+        if (partial) {
+            consistentEpoch = packet.epoch();
+            return null;
+        }
+
+        Collection<HappyGhastTextureManager.HappyGhastTextureVariant> variants =
+            HappyGhastTextureManager.getClientTextureVariants().values();
+        if (variants.size() == packet.count() && VariantDigest.storeDigest(variants) == packet.digest()) {
+            consistentEpoch = packet.epoch();
+            return null;
+        }
+
+        if (!lastSyncWasFull) {
+            GhastTopia.LOGGER.info("Variant cache delta did not match the server store - requesting a full sync");
+            HappyGhastTextureManager.clearClientVariants();
+            ClientVariantRetention.onStoreCleared();
+            restoredFromCache = false;
+            return VariantCacheSummaryPacket.empty();
+        }
+
+        // Changed while streaming; not cached with an epoch, so the next join does a full sync
+        GhastTopia.LOGGER.debug("Variant store changed during full sync - cache will not be reused");
+        return null;
+    }
+
+    /**
+     * True once the server started a cache sync; a server in ENTITY_DATA mode never does and ignores digests
+     */
+    public static synchronized boolean isServerSyncing() {
+        return serverSyncing;
+    }
+
+    /**
+     * Entries were evicted from the store, so it is no longer a full copy
+     */
+    public static synchronized void markPartial() {
+        partial = true;
+    }
+
+    /**
+     * Write the cache back (only when verified) and clear the client store
+     */
+    public static synchronized void close() {
+        if (cacheFile != null) {
+            try {
+                if (!storeId.equals(VariantCacheSummaryPacket.NO_STORE) && consistentEpoch >= 0) {
+                    write(cacheFile);
+                } else {
+                    Files.deleteIfExists(cacheFile);
+                }
+            } catch (IOException e) {
+                GhastTopia.LOGGER.warn("Could not write variant cache {}: {}", cacheFile, e.getMessage());
+            }
+        }
+
+        cacheFile = null;
+        storeId = VariantCacheSummaryPacket.NO_STORE;
+        consistentEpoch = -1;
+        restoredFromCache = false;
+        partial = false;
+        serverSyncing = false;
+        HappyGhastTextureManager.clearClientVariants();
+        ClientVariantRetention.reset();
+    }
+
+    private static void write(Path file) throws IOException {
+        CompoundTag nbt = new CompoundTag();
+        nbt.putString("StoreId", storeId.toString());
+        nbt.putLong("Epoch", consistentEpoch);
+        nbt.putBoolean("Partial", partial);
+
+        ListTag variantList = new ListTag();
+        for (var variant : HappyGhastTextureManager.getClientTextureVariants().values()) {
+            variantList.add(variant.toNBT());
+        }
+        nbt.put("Variants", variantList);
+
+        Files.createDirectories(file.getParent());
+        NbtIo.writeCompressed(nbt, file);
+    }
+}
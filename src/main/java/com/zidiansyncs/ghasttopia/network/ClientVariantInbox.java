@@ -0,0 +1,136 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hands received texture variants from the network thread to the client thread (CLIENT-SIDE ONLY)
+ *
+ * Sync payloads are decoded, validated and texture-resolved on the network thread and queued here;
+ * the client thread publishes them into the client store once per frame, stopping when the frame's time
+ * budget is used up, so a large bulk sync is spread over several frames instead of stalling one.
+ * Messages that act on the store (cache markers, removal notices) are queued as actions in the same queue,
+ * so everything is applied in arrival order: a marker sees exactly the variants received before it.
+ * Contains no client-only classes.
+ */
+public final class ClientVariantInbox {
+
+    // Variants to store and actions of ordered sync messages, in arrival order
+    private static final Queue<Runnable> received = new ConcurrentLinkedQueue<>();
+
+    // Counters since client start
+    private static long accepted = 0;
+    private static long rejected = 0;
+
+    private ClientVariantInbox() {
+    }
+
+    /**
+     * Apply a sync packet's palette definitions, then resolve and queue its variants (network thread)
+     * Packets built by an in-memory server arrive already resolved; decoded ones carry raw wire entries.
+     *
+     * @return false when the palette is out of step with the server and the packet was dropped
+     */
+    public static boolean receive(VariantStringTable strings,
+                                  Collection<HappyGhastTextureManager.HappyGhastTextureVariant> resolved,
+                                  List<VariantWireFormat.Entry> entries) {
+        if (!ClientVariantPalette.define(strings.firstNewId(), strings.newStrings())) {
+            return false;
+        }
+        for (HappyGhastTextureManager.HappyGhastTextureVariant variant : resolved) {
+            offer(variant);
+        }
+        for (VariantWireFormat.Entry entry : entries) {
+            HappyGhastTextureManager.HappyGhastTextureVariant variant = VariantWireFormat.resolve(entry);
+            if (variant == null) {
+                return false;
+            }
+            offer(variant);
+        }
+        return true;
+    }
+
+    /**
+     * Validate a received variant and queue it for publishing (network thread)
+     */
+    public static void offer(HappyGhastTextureManager.HappyGhastTextureVariant variant) {
+        if (variant == null || variant.ghastId == null || variant.levelId == null) {
+            rejected++;
+            return;
+        }
+        // Resolve the texture here so the render thread only does a field read
+        variant.getTexture();
+        received.add(() -> apply(variant));
+        accepted++;
+    }
+
+    /**
+     * Queue the action of an ordered sync message behind everything received so far (network thread)
+     */
+    public static void offerAction(Runnable action) {
+        received.add(action);
+    }
+
+    /**
+     * Publish queued variants and actions until the time budget runs out (client thread); at least one is
+     * always published
+     * @return number of entries still waiting
+     */
+    public static int publish(long budgetNanos) {
+        if (received.isEmpty()) {
+            return 0;
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        Runnable next;
+        while ((next = received.poll()) != null) {
+            next.run();
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+        }
+        return received.size();
+    }
+
+    /**
+     * Publish everything queued so far, regardless of budget (client thread)
+     */
+    public static void publishAll() {
+        Runnable next;
+        int count = 0;
+        while ((next = received.poll()) != null) {
+            next.run();
+            count++;
+        }
+        if (count > 0) {
+            GhastTopia.LOGGER.debug("Published {} queued texture sync entries at once", count);
+        }
+    }
+
+    public static boolean isEmpty() {
+        return received.isEmpty();
+    }
+
+    public static long getAccepted() {
+        return accepted;
+    }
+
+    public static long getRejected() {
+        return rejected;
+    }
+
+    private static void apply(HappyGhastTextureManager.HappyGhastTextureVariant variant) {
+        // A locked variant only changes when the server sends another locked one (e.g. a transformation)
+        HappyGhastTextureManager.HappyGhastTextureVariant existing =
+            HappyGhastTextureManager.getClientTextureVariant(variant.ghastId);
+        if (!variant.isLocked && existing != null && existing.isLocked) {
+            return;
+        }
+        HappyGhastTextureManager.syncToClient(variant.ghastId, variant);
+        ClientVariantRetention.onVariantStored(variant.ghastId);
+    }
+}
@@ -0,0 +1,91 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Client-side copy of the per-connection string palette
+ *
+ * Filled by the sync packet handlers in packet order and reset when the client disconnects. A packet whose
+ * definitions do not continue the palette, or that references an id the palette does not hold, means the two
+ * sides are out of step: the palette is marked desynced and ignores further packets until the server restarts
+ * its palette from id 0, which it does when the client asks for a full resync.
+ * Contains no client-only classes, so it is safe to load on a dedicated server.
+ */
+public final class ClientVariantPalette {
+
+    private static final List<String> strings = new ArrayList<>();
+    private static boolean desynced = false;
+    private static boolean resyncRequested = false;
+
+    private ClientVariantPalette() {
+    }
+
+    /**
+     * Add strings defined by a packet, starting at the given id
+     *
+     * @return false when the palette is (or just got) out of step with the server and the packet must be dropped
+     */
+    public static synchronized boolean define(int firstNewId, List<String> newStrings) {
+        // Id 0 can only be defined by the first packet of a new server palette
+        if (firstNewId == 0 && !newStrings.isEmpty()) {
+            strings.clear();
+            desynced = false;
+            resyncRequested = false;
+        }
+        if (desynced) {
+            return false;
+        }
+        if (newStrings.isEmpty()) {
+            return true;
+        }
+
+        if (firstNewId != strings.size()) {
+            GhastTopia.LOGGER.warn("Variant sync palette out of step (expected id {}, got {}) - requesting a full resync", strings.size(), firstNewId);
+            desynced = true;
+            return false;
+        }
+        strings.addAll(newStrings);
+        return true;
+    }
+
+    /**
+     * Resolve a palette id, or null (and mark the palette desynced) when the id is unknown
+     */
+    public static synchronized String lookup(int id) {
+        if (id >= 0 && id < strings.size()) {
+            return strings.get(id);
+        }
+        if (!desynced) {
+            GhastTopia.LOGGER.warn("Variant sync palette has no id {} ({} known) - requesting a full resync", id, strings.size());
+            desynced = true;
+        }
+        return null;
+    }
+
+    public static synchronized boolean isDesynced() {
+        return desynced;
+    }
+
+    /**
+     * True once per desync: the caller should ask the server for a full resync
+     */
+    public static synchronized boolean takeResyncRequest() {
+        if (!desynced || resyncRequested) {
+            return false;
+        }
+        resyncRequested = true;
+        return true;
+    }
+
+    /**
+     * Forget the palette (called on disconnect)
+     */
+    public static synchronized void reset() {
+        strings.clear();
+        desynced = false;
+        resyncRequested = false;
+    }
+}
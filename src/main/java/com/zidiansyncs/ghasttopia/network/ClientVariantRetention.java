@@ -0,0 +1,96 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bounds the client-side variant store by tying entries to client entity lifecycle (CLIENT-SIDE ONLY)
+ *
+ * Variants of ghasts loaded on the client are always kept. Variants of ghasts that are not loaded
+ * (left tracking range, or received through a bulk sync without ever being seen) sit in an LRU bounded
+ * by the configured limit; the least recently touched ones are evicted from the store, which marks the
+ * persistent cache as partial. An evicted variant is requested again if its ghast is rendered later.
+ * Contains no client-only classes.
+ */
+public final class ClientVariantRetention {
+
+    private static final Set<UUID> loadedGhasts = new HashSet<>();
+    private static final LinkedHashMap<UUID, Boolean> unloadedEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private static int limit = 4096;
+
+    private ClientVariantRetention() {
+    }
+
+    public static synchronized void setLimit(int maxUnloadedEntries) {
+        limit = maxUnloadedEntries;
+        evictOverflow();
+    }
+
+    /**
+     * A ghast entity was added to the client level
+     */
+    public static synchronized void onGhastLoaded(UUID ghastId) {
+        loadedGhasts.add(ghastId);
+        unloadedEntries.remove(ghastId);
+    }
+
+    /**
+     * A ghast entity left the client level; its variant becomes evictable
+     */
+    public static synchronized void onGhastUnloaded(UUID ghastId) {
+        if (loadedGhasts.remove(ghastId) && HappyGhastTextureManager.getClientTextureVariant(ghastId) != null) {
+            touchUnloaded(ghastId);
+        }
+    }
+
+    /**
+     * A variant was received or restored; entries for ghasts not loaded here count against the limit
+     */
+    public static synchronized void onVariantStored(UUID ghastId) {
+        if (!loadedGhasts.contains(ghastId)) {
+            touchUnloaded(ghastId);
+        }
+    }
+
+    /**
+     * A variant was removed from the store
+     */
+    public static synchronized void onVariantRemoved(UUID ghastId) {
+        unloadedEntries.remove(ghastId);
+    }
+
+    /**
+     * The client store was cleared; ghasts still loaded here stay loaded
+     */
+    public static synchronized void onStoreCleared() {
+        unloadedEntries.clear();
+    }
+
+    /**
+     * Forget everything (disconnect)
+     */
+    public static synchronized void reset() {
+        loadedGhasts.clear();
+        unloadedEntries.clear();
+    }
+
+    private static void touchUnloaded(UUID ghastId) {
+        unloadedEntries.put(ghastId, Boolean.TRUE);
+        evictOverflow();
+    }
+
+    private static void evictOverflow() {
+        var iterator = unloadedEntries.entrySet().iterator();
+        while (unloadedEntries.size() > limit && iterator.hasNext()) {
+            Map.Entry<UUID, Boolean> eldest = iterator.next();
+            iterator.remove();
+            HappyGhastTextureManager.removeClientVariant(eldest.getKey());
+            ClientVariantCache.markPartial();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Collects ghasts the renderer found without a client variant (CLIENT-SIDE ONLY)
+ *
+ * Ids are deduplicated and drained in batches of at most {@link VariantRequestPacket#MAX_IDS}, no more than
+ * once per request interval. An id that was already requested is not asked for again until its
+ * cooldown expires, so a ghast the server has no variant for costs one request every few seconds at most.
+ * Both sets are bounded; contains no client-only classes.
+ */
+public final class MissingVariantTracker {
+
+    // Bounds on the pending and recently requested sets
+    private static final int MAX_PENDING = 256;
+    private static final int MAX_REQUESTED = 1024;
+
+    // Ticks before an id that was requested may be requested again
+    private static final int REQUEST_COOLDOWN_TICKS = 200;
+
+    private static final Set<UUID> pending = new LinkedHashSet<>();
+    private static final Map<UUID, Long> requestedAt = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Long> eldest) {
+            return size() > MAX_REQUESTED;
+        }
+    };
+
+    private static long tick = 0;
+    private static long lastRequestTick = Long.MIN_VALUE / 2;
+
+    private MissingVariantTracker() {
+    }
+
+    /**
+     * Note that a ghast was rendered without a client variant (render thread)
+     */
+    public static synchronized void noteMissing(UUID ghastId) {
+        if (pending.size() >= MAX_PENDING || pending.contains(ghastId)) {
+            return;
+        }
+        Long lastRequested = requestedAt.get(ghastId);
+        if (lastRequested != null && tick - lastRequested < REQUEST_COOLDOWN_TICKS) {
+            return;
+        }
+        pending.add(ghastId);
+    }
+
+    /**
+     * Advance one client tick and return the ids to request now (empty when rate limited or nothing is missing)
+     */
+    public static synchronized List<UUID> tick(int intervalTicks) {
+        tick++;
+        if (pending.isEmpty() || tick - lastRequestTick < intervalTicks) {
+            return List.of();
+        }
+
+        List<UUID> batch = new ArrayList<>(Math.min(pending.size(), VariantRequestPacket.MAX_IDS));
+        Iterator<UUID> iterator = pending.iterator();
+        while (iterator.hasNext() && batch.size() < VariantRequestPacket.MAX_IDS) {
+            UUID ghastId = iterator.next();
+            iterator.remove();
+            requestedAt.remove(ghastId);
+            requestedAt.put(ghastId, tick);
+            batch.add(ghastId);
+        }
+        lastRequestTick = tick;
+        return batch;
+    }
+
+    /**
+     * Forget everything (called on disconnect)
+     */
+    public static synchronized void reset() {
+        pending.clear();
+        requestedAt.clear();
+        tick = 0;
+        lastRequestTick = Long.MIN_VALUE / 2;
+    }
+}
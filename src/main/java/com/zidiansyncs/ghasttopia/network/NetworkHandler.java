@@ -1,16 +1,30 @@
 package com.zidiansyncs.ghasttopia.network;
 
+import com.zidiansyncs.ghasttopia.Config;
 import com.zidiansyncs.ghasttopia.GhastTopia;
 import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+import com.zidiansyncs.ghasttopia.texture.VariantStoreJournal;
+import net.minecraft.network.ConnectionProtocol;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
-import net.neoforged.neoforge.network.PacketDistributor;
+import net.minecraft.server.network.ServerConfigurationPacketListenerImpl;
+import net.minecraft.world.entity.Entity;
+import net.neoforged.neoforge.network.event.RegisterConfigurationTasksEvent;
 import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+import net.neoforged.neoforge.network.registration.HandlerThread;
 import net.neoforged.neoforge.network.registration.PayloadRegistrar;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -18,69 +32,393 @@ import java.util.UUID;
  * Handles client-server synchronization of texture variants
  */
 public class NetworkHandler {
+
+    // Ticks the server waits for a joining client's cache summary before sending a full sync
+    private static final int CACHE_SUMMARY_TIMEOUT = 100;
     
     public static void register(RegisterPayloadHandlersEvent event) {
         PayloadRegistrar registrar = event.registrar(GhastTopia.MODID);
         
+        // Sync payloads are handled on the network thread: decoding, validation and texture resolution
+        // happen there, and the client thread only publishes the results within a per-frame budget
+        PayloadRegistrar networkRegistrar = registrar.executesOn(HandlerThread.NETWORK);
+
         // Register texture sync packet
-        registrar.playToClient(
+        // Every codec is wrapped so /ghasttopia net can report bytes and encode time per payload type
+        networkRegistrar.playToClient(
             TextureSyncPacket.TYPE,
-            TextureSyncPacket.STREAM_CODEC,
+            NetworkMetrics.instrument(TextureSyncPacket.TYPE, TextureSyncPacket.STREAM_CODEC),
             (packet, context) -> {
-                // Handle on client side
-                context.enqueueWork(() -> {
-                    HappyGhastTextureManager.syncToClient(packet.ghastId(), packet.variant());
-                    GhastTopia.LOGGER.info("Client received texture sync for ghast: {} -> {}", 
-                        packet.ghastId(), packet.variant().getEffectiveVariant());
-                });
+                boolean inStep = ClientVariantInbox.receive(packet.strings(),
+                    packet.variant() != null ? List.of(packet.variant()) : List.of(),
+                    packet.entry() != null ? List.of(packet.entry()) : List.of());
+                requestResyncIfDesynced(inStep, context);
             }
         );
         
-        // Register bulk texture sync packet
-        registrar.playToClient(
+        // Register bulk texture sync packet (also used by the configuration-phase preload)
+        networkRegistrar.commonToClient(
             BulkTextureSyncPacket.TYPE,
-            BulkTextureSyncPacket.STREAM_CODEC,
+            NetworkMetrics.instrument(BulkTextureSyncPacket.TYPE, BulkTextureSyncPacket.STREAM_CODEC),
             (packet, context) -> {
-                // Handle on client side
-                context.enqueueWork(() -> {
-                    for (var entry : packet.variants().entrySet()) {
-                        HappyGhastTextureManager.syncToClient(entry.getKey(), entry.getValue());
-                    }
-                    GhastTopia.LOGGER.info("Client received bulk texture sync for {} ghasts", 
-                        packet.variants().size());
-                });
+                boolean inStep = ClientVariantInbox.receive(packet.strings(), packet.variants().values(), packet.entries());
+                requestResyncIfDesynced(inStep, context);
+                GhastTopia.LOGGER.debug("Client received bulk texture sync for {} ghasts",
+                    packet.variants().size() + packet.entries().size());
             }
         );
+
+        // Removal notices and cache markers act on the store, so they go through the inbox in arrival order too
+        networkRegistrar.playToClient(
+            VariantRemovedPacket.TYPE,
+            NetworkMetrics.instrument(VariantRemovedPacket.TYPE, VariantRemovedPacket.STREAM_CODEC),
+            (packet, context) -> ClientVariantInbox.offerAction(() -> {
+                for (UUID ghastId : packet.ghastIds()) {
+                    HappyGhastTextureManager.removeClientVariant(ghastId);
+                    ClientVariantRetention.onVariantRemoved(ghastId);
+                }
+            })
+        );
+
+        // Register preload completion marker: the client echoes it back, which finishes the configuration task
+        registrar.configurationBidirectional(
+            VariantPreloadDonePacket.TYPE,
+            NetworkMetrics.instrument(VariantPreloadDonePacket.TYPE, VariantPreloadDonePacket.STREAM_CODEC),
+            (packet, context) -> {
+                if (context.flow().isClientbound()) {
+                    context.reply(packet);
+                } else {
+                    context.finishCurrentTask(VariantPreloadTask.TYPE);
+                }
+            }
+        );
+
+        // Register missing variant request packet (client -> server)
+        registrar.playToServer(
+            VariantRequestPacket.TYPE,
+            NetworkMetrics.instrument(VariantRequestPacket.TYPE, VariantRequestPacket.STREAM_CODEC),
+            (packet, context) -> context.enqueueWork(() -> {
+                if (context.player() instanceof ServerPlayer player) {
+                    handleVariantRequest(player, packet);
+                }
+            })
+        );
+
+        // Register persistent cache handshake: summary (client -> server), begin/end markers (server -> client)
+        registrar.playToServer(
+            VariantCacheSummaryPacket.TYPE,
+            NetworkMetrics.instrument(VariantCacheSummaryPacket.TYPE, VariantCacheSummaryPacket.STREAM_CODEC),
+            (packet, context) -> context.enqueueWork(() -> {
+                if (context.player() instanceof ServerPlayer player) {
+                    handleCacheSummary(player, packet);
+                }
+            })
+        );
+        networkRegistrar.playToClient(
+            VariantCacheBeginPacket.TYPE,
+            NetworkMetrics.instrument(VariantCacheBeginPacket.TYPE, VariantCacheBeginPacket.STREAM_CODEC),
+            (packet, context) -> ClientVariantInbox.offerAction(() -> ClientVariantCache.onBegin(packet))
+        );
+        networkRegistrar.playToClient(
+            VariantCacheEndPacket.TYPE,
+            NetworkMetrics.instrument(VariantCacheEndPacket.TYPE, VariantCacheEndPacket.STREAM_CODEC),
+            (packet, context) -> ClientVariantInbox.offerAction(() -> {
+                VariantCacheSummaryPacket resync = ClientVariantCache.onEnd(packet);
+                if (resync != null) {
+                    context.reply(resync);
+                }
+            })
+        );
+
+        // Register variant digest packet (client -> server anti-entropy)
+        registrar.playToServer(
+            VariantDigestPacket.TYPE,
+            NetworkMetrics.instrument(VariantDigestPacket.TYPE, VariantDigestPacket.STREAM_CODEC),
+            (packet, context) -> context.enqueueWork(() -> {
+                if (context.player() instanceof ServerPlayer player) {
+                    handleVariantDigest(player, packet);
+                }
+            })
+        );
+    }
+
+    /**
+     * Ask for a full resync once when a sync packet did not fit the client palette
+     * The server answers by restarting its palette for the connection, so the resync redefines every string.
+     * A desync during configuration (preload) is reported by the login summary instead.
+     */
+    private static void requestResyncIfDesynced(boolean inStep, IPayloadContext context) {
+        if (!inStep && context.protocol() == ConnectionProtocol.PLAY && ClientVariantPalette.takeResyncRequest()) {
+            context.reply(VariantCacheSummaryPacket.resync());
+        }
+    }
+
+    /**
+     * Start the login sync: wait briefly for the client's cache summary before deciding what to send
+     */
+    public static void beginLoginSync(ServerPlayer player) {
+        if (usesSyncPackets()) {
+            VariantSyncSession session = VariantSyncSession.get(player);
+            session.markInPlay();
+            session.awaitCacheSummary(player.level().getServer().getTickCount() + CACHE_SUMMARY_TIMEOUT);
+        }
+    }
+
+    /**
+     * Answer a client's cache summary with a delta or a full sync
+     * Outside the login wait only a request for a full sync is accepted, and it replaces any running bulk sync.
+     * A full sync always restarts the connection palette, since the client may have asked because its palette
+     * got out of step; redefining the few biome and level strings costs next to nothing.
+     */
+    private static void handleCacheSummary(ServerPlayer player, VariantCacheSummaryPacket packet) {
+        if (!usesSyncPackets()) {
+            return;
+        }
+        VariantSyncSession session = VariantSyncSession.get(player);
+        boolean wasWaiting = session.stopAwaitingCacheSummary();
+        boolean fullResyncRequest = packet.storeId().equals(VariantCacheSummaryPacket.NO_STORE);
+        if (wasWaiting) {
+            if (fullResyncRequest) {
+                session.cancelBulkSync();
+                session.palette().reset();
+            }
+            startCacheSync(player, session, packet);
+        } else if (fullResyncRequest) {
+            // Resync requested mid-session (client palette desync); repeated requests are coalesced and rate limited
+            session.requestFullResync();
+            serveFullResync(player, session);
+        }
+    }
+
+    /**
+     * Restart the palette and send a full sync if one was requested and the rate limit allows
+     */
+    private static void serveFullResync(ServerPlayer player, VariantSyncSession session) {
+        if (!session.takeFullResync(player.level().getGameTime())) {
+            return;
+        }
+        session.cancelBulkSync();
+        session.palette().reset();
+        startCacheSync(player, session, null);
+    }
+
+    /**
+     * Send the variants a client is missing relative to its cache summary (null summary = no cache)
+     * Begin marker first, then the paced variant stream, then the end marker with the store digest
+     */
+    private static void startCacheSync(ServerPlayer player, VariantSyncSession session, VariantCacheSummaryPacket summary) {
+        VariantStoreJournal journal = HappyGhastTextureManager.getJournal();
+        Collection<HappyGhastTextureManager.HappyGhastTextureVariant> variants = HappyGhastTextureManager.getAllTextureVariants();
+
+        boolean delta = summary != null && journal.canServeDeltaFrom(summary.storeId(), summary.epoch());
+        List<UUID> toSend;
+        List<UUID> removed;
+        if (delta && !summary.partial() && summary.count() == countLocked(variants) && summary.digest() == VariantDigest.storeDigest(variants)) {
+            // Cache already matches the store
+            toSend = List.of();
+            removed = List.of();
+        } else if (delta) {
+            toSend = journal.changedSince(summary.epoch());
+            removed = journal.removedSince(summary.epoch());
+        } else {
+            toSend = new ArrayList<>(variants.size());
+            for (var variant : variants) {
+                toSend.add(variant.ghastId);
+            }
+            removed = List.of();
+        }
+
+        // Variants preloaded during configuration and unchanged since are already current on the client, unless
+        // this sync makes it drop its store (full sync over a restored cache, or a client that lost preload frames)
+        Set<UUID> preloaded = session.takePreloaded(journal);
+        boolean clientKeepsPreload = delta || (summary != null
+            && summary.storeId().equals(VariantCacheSummaryPacket.NO_STORE) && !summary.partial());
+        if (clientKeepsPreload && !preloaded.isEmpty() && !toSend.isEmpty()) {
+            toSend.removeIf(preloaded::contains);
+        }
+
+        long snapshotEpoch = journal.getEpoch();
+        NetworkMetrics.sendToPlayer(player, new VariantCacheBeginPacket(journal.getStoreId(), !delta, removed));
+        session.startBulkSync(BulkSyncStream.snapshot(player, toSend).thenSend(() -> {
+            var current = HappyGhastTextureManager.getAllTextureVariants();
+            return new VariantCacheEndPacket(snapshotEpoch, countLocked(current), VariantDigest.storeDigest(current));
+        }));
+
+        GhastTopia.LOGGER.debug("Cache sync for {}: {} ({} variants, {} removals)",
+            player.getName().getString(), delta ? "delta" : "full", toSend.size(), removed.size());
+    }
+
+    private static int countLocked(Collection<HappyGhastTextureManager.HappyGhastTextureVariant> variants) {
+        int count = 0;
+        for (var variant : variants) {
+            if (variant.isLocked) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Compare a client's digest with the server's view of the ghasts it tracks
+     * Every tracked ghast in a differing bucket is queued, so repairs go out as one payload at the end of the tick
+     */
+    private static void handleVariantDigest(ServerPlayer player, VariantDigestPacket packet) {
+        if (!usesSyncPackets()) {
+            return;
+        }
+        VariantSyncSession session = VariantSyncSession.get(player);
+        if (!session.allowDigest(player.level().getGameTime(), Config.DIGEST_INTERVAL.get())) {
+            return;
+        }
+
+        int[] serverBuckets = VariantDigest.compute(session.trackedGhasts(), HappyGhastTextureManager::getTextureVariant);
+        BitSet differing = new BitSet(VariantDigest.BUCKETS);
+        for (int bucket = 0; bucket < VariantDigest.BUCKETS; bucket++) {
+            if (serverBuckets[bucket] != packet.buckets()[bucket]) {
+                differing.set(bucket);
+            }
+        }
+        if (differing.isEmpty()) {
+            return;
+        }
+
+        for (UUID ghastId : session.trackedGhasts()) {
+            if (differing.get(VariantDigest.bucketOf(ghastId))) {
+                HappyGhastTextureManager.HappyGhastTextureVariant variant =
+                    HappyGhastTextureManager.getTextureVariant(ghastId);
+                if (variant != null && variant.isLocked) {
+                    sendTextureSyncToPlayer(player, ghastId, variant);
+                }
+            }
+        }
+    }
+
+    /**
+     * Take a client's request for missing variants; only ghasts the player tracks are accepted
+     * Requests arriving faster than the rate limit are merged and answered when it allows, since the client
+     * has already put the ids on its cooldown and will not ask again soon
+     */
+    private static void handleVariantRequest(ServerPlayer player, VariantRequestPacket packet) {
+        if (!usesSyncPackets()) {
+            return;
+        }
+        VariantSyncSession session = VariantSyncSession.get(player);
+        session.addVariantRequest(packet.ghastIds());
+        serveVariantRequests(player, session);
+    }
+
+    /**
+     * Answer the requested variants if the rate limit allows
+     * Matches are queued, so the reply goes out as one batched payload at the end of the tick
+     */
+    private static void serveVariantRequests(ServerPlayer player, VariantSyncSession session) {
+        if (session.requestedVariants().isEmpty()
+            || !session.allowVariantRequest(player.level().getGameTime(), Config.VARIANT_REQUEST_INTERVAL.get())) {
+            return;
+        }
+
+        for (UUID ghastId : session.requestedVariants()) {
+            HappyGhastTextureManager.HappyGhastTextureVariant variant =
+                HappyGhastTextureManager.getTextureVariant(ghastId);
+            if (variant != null && variant.isLocked) {
+                sendTextureSyncToPlayer(player, ghastId, variant);
+            }
+        }
+        session.requestedVariants().clear();
     }
     
     /**
      * Send texture variant to specific player
+     * Queued for the end of the tick; the latest state of the variant is sent
      */
     public static void sendTextureSyncToPlayer(ServerPlayer player, UUID ghastId, 
                                              HappyGhastTextureManager.HappyGhastTextureVariant variant) {
-        PacketDistributor.sendToPlayer(player, new TextureSyncPacket(ghastId, variant));
+        OutboundVariantQueue.markForPlayer(player, ghastId);
     }
     
     /**
      * Send texture variant to all players
+     * Queued for the end of the tick; the latest state of the variant is sent
      */
     public static void sendTextureSyncToAll(UUID ghastId, 
                                           HappyGhastTextureManager.HappyGhastTextureVariant variant) {
-        PacketDistributor.sendToAllPlayers(new TextureSyncPacket(ghastId, variant));
+        OutboundVariantQueue.markBroadcast(ghastId);
     }
     
+    /**
+     * Send texture variant only to players currently tracking the ghast
+     * Queued for the end of the tick; the latest state of the variant is sent
+     */
+    public static void sendTextureSyncToTracking(Entity ghast,
+                                               HappyGhastTextureManager.HappyGhastTextureVariant variant) {
+        OutboundVariantQueue.markTracking(ghast.getUUID());
+    }
+
+    /**
+     * Hand a ghast's variant to the players tracking it in the level it just joined
+     * Used instead of a broadcast when a ghast changes dimension or its chunk loads: tracking starts
+     * while the ghast is added to the level, so the end-of-tick flush reaches exactly its new trackers
+     */
+    public static void handOff(Entity ghast) {
+        if (usesSyncPackets()) {
+            OutboundVariantQueue.markTracking(ghast.getUUID());
+        }
+    }
+
+    /**
+     * Tell clients that a ghast's variant was removed (queued; sent with the tick's other removals)
+     */
+    public static void sendVariantRemoved(UUID ghastId) {
+        if (usesSyncPackets()) {
+            OutboundVariantQueue.markRemoved(ghastId);
+        }
+    }
+
+    /**
+     * Send texture variant using the configured sync mode
+     * A null ghast means the entity is not loaded, so nobody can be tracking it
+     */
+    public static void sendTextureSync(Entity ghast, UUID ghastId,
+                                     HappyGhastTextureManager.HappyGhastTextureVariant variant) {
+        switch (getSyncMode()) {
+            case ALL_PLAYERS -> sendTextureSyncToAll(ghastId, variant);
+            case TRACKING -> {
+                if (ghast != null) {
+                    sendTextureSyncToTracking(ghast, variant);
+                }
+            }
+            case ENTITY_DATA -> {
+                // Carried by the ghast's synced entity data - nothing to send
+            }
+        }
+    }
+
+    /**
+     * Currently configured sync mode
+     */
+    public static VariantSyncMode getSyncMode() {
+        return Config.VARIANT_SYNC_MODE.get();
+    }
+
+    /**
+     * True when the configured sync mode replicates variants with sync packets
+     */
+    public static boolean usesSyncPackets() {
+        return getSyncMode().usesSyncPackets();
+    }
+
     /**
      * Send all texture variants to specific player (for login sync)
+     * Streamed in bounded frames over the following ticks, nearest ghasts first
      */
     public static void sendBulkTextureSyncToPlayer(ServerPlayer player) {
         var variantCollection = HappyGhastTextureManager.getAllTextureVariants();
         if (!variantCollection.isEmpty()) {
-            // Convert Collection to Map
-            var variants = new java.util.HashMap<UUID, HappyGhastTextureManager.HappyGhastTextureVariant>();
+            List<UUID> ghastIds = new ArrayList<>(variantCollection.size());
             for (var variant : variantCollection) {
-                variants.put(variant.ghastId, variant);
+                ghastIds.add(variant.ghastId);
             }
-            PacketDistributor.sendToPlayer(player, new BulkTextureSyncPacket(variants));
+            VariantSyncSession.get(player).startBulkSync(BulkSyncStream.snapshot(player, ghastIds));
         }
     }
 
@@ -88,14 +426,80 @@ public class NetworkHandler {
      * Send all texture variants to all players
      */
     public static void sendBulkTextureSyncToAll() {
-        var variantCollection = HappyGhastTextureManager.getAllTextureVariants();
-        if (!variantCollection.isEmpty()) {
-            // Convert Collection to Map
-            var variants = new java.util.HashMap<UUID, HappyGhastTextureManager.HappyGhastTextureVariant>();
-            for (var variant : variantCollection) {
-                variants.put(variant.ghastId, variant);
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return;
+        }
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            sendBulkTextureSyncToPlayer(player);
+        }
+    }
+
+    /**
+     * Register the configuration-phase variant preload for a connecting player
+     * A session left over from a login that never reached play is dropped, so the palette matches the client's
+     * fresh one; the session of a player in play is never reset here.
+     */
+    public static void registerConfigurationTasks(RegisterConfigurationTasksEvent event) {
+        if (!(event.getListener() instanceof ServerConfigurationPacketListenerImpl listener)) {
+            return;
+        }
+        UUID playerId = listener.getOwner().getId();
+        VariantSyncSession.endUnfinishedLogin(playerId);
+
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        // A login that never reached play got no logout event, so its counters are dropped here
+        if (server != null && server.getPlayerList().getPlayer(playerId) == null) {
+            NetworkMetrics.forgetPlayer(playerId);
+        }
+        if (server != null && usesSyncPackets() && Config.PRELOAD_VARIANTS.get() &&
+            listener.hasChannel(VariantPreloadDonePacket.TYPE)) {
+            event.register(new VariantPreloadTask(server, playerId));
+        }
+    }
+
+    /**
+     * Move the updates marked during this tick to the recipients' session queues
+     */
+    public static void flushQueuedSyncs(MinecraftServer server) {
+        if (!usesSyncPackets()) {
+            return;
+        }
+        OutboundVariantQueue.flush(server);
+    }
+
+    /**
+     * Per-player send step: refill the send budget, then spend it on queued updates before bulk sync frames
+     * Sessions of players that have left are skipped; their queues are dropped with the session on logout
+     */
+    public static void tickSessions(MinecraftServer server) {
+        if (!usesSyncPackets()) {
+            return;
+        }
+        int frameSize = Config.BULK_SYNC_FRAME_SIZE.get();
+        int framesPerTick = Config.BULK_SYNC_FRAMES_PER_TICK.get();
+        int bytesPerSecond = Config.SYNC_BYTES_PER_SECOND.get();
+        int maxWaitTicks = Config.SYNC_MAX_WAIT_TICKS.get();
+        long tick = server.getTickCount();
+        for (VariantSyncSession session : VariantSyncSession.all()) {
+            ServerPlayer player = server.getPlayerList().getPlayer(session.playerId());
+            if (player == null) {
+                continue;
+            }
+
+            // Client never sent a cache summary - fall back to a full sync
+            if (session.isCacheSummaryOverdue(tick)) {
+                session.stopAwaitingCacheSummary();
+                startCacheSync(player, session, null);
+            }
+
+            serveFullResync(player, session);
+            serveVariantRequests(player, session);
+            session.budget().refill(bytesPerSecond);
+            OutboundVariantQueue.drain(player, session, tick, maxWaitTicks);
+            if (session.isBulkSyncing()) {
+                session.tickBulkSync(player, frameSize, framesPerTick);
             }
-            PacketDistributor.sendToAllPlayers(new BulkTextureSyncPacket(variants));
         }
     }
 }
@@ -0,0 +1,207 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Traffic counters for GhastTopia payloads, per payload type, overall and per player
+ *
+ * Sends made through {@link #sendToPlayer} / {@link #sendToPlayers} count payloads and the recipients they
+ * fan out to. Codecs wrapped with {@link #instrument} count encoded and decoded bytes and encode time; those run
+ * on the netty threads, so the counters are adders. Encoding happens once per recipient connection, which lets
+ * per-player bytes be estimated from the type's mean encoded size. Singleplayer (memory) connections pass
+ * payloads without encoding them, so they show up in the packet counts but not in the byte counts.
+ */
+public final class NetworkMetrics {
+
+    /**
+     * Counters for one payload type
+     */
+    public static final class Stats {
+        public final LongAdder payloads = new LongAdder();     // Logical sends
+        public final LongAdder recipients = new LongAdder();   // Players reached by those sends
+        public final LongAdder encodes = new LongAdder();
+        public final LongAdder bytesOut = new LongAdder();
+        public final LongAdder encodeNanos = new LongAdder();
+        public final LongAdder decodes = new LongAdder();
+        public final LongAdder bytesIn = new LongAdder();
+
+        /**
+         * Mean encoded size of one payload, or 0 if none was encoded yet
+         */
+        public double meanBytesOut() {
+            long count = encodes.sum();
+            return count > 0 ? (double) bytesOut.sum() / count : 0.0;
+        }
+    }
+
+    private static final Map<ResourceLocation, Stats> overall = new ConcurrentHashMap<>();
+    private static final Map<UUID, Map<ResourceLocation, Stats>> perPlayer = new ConcurrentHashMap<>();
+    private static volatile long startedAt = System.currentTimeMillis();
+
+    private NetworkMetrics() {
+    }
+
+    /**
+     * Wrap a payload codec so every encode and decode is counted
+     */
+    public static <B extends ByteBuf, T extends CustomPacketPayload> StreamCodec<B, T> instrument(
+            CustomPacketPayload.Type<T> type, StreamCodec<B, T> codec) {
+        ResourceLocation id = type.id();
+        return StreamCodec.of(
+            (buf, payload) -> {
+                int start = buf.writerIndex();
+                long startNanos = System.nanoTime();
+                codec.encode(buf, payload);
+                Stats stats = stats(overall, id);
+                stats.encodeNanos.add(System.nanoTime() - startNanos);
+                stats.bytesOut.add(buf.writerIndex() - start);
+                stats.encodes.increment();
+            },
+            buf -> {
+                int start = buf.readerIndex();
+                T payload = codec.decode(buf);
+                Stats stats = stats(overall, id);
+                stats.bytesIn.add(buf.readerIndex() - start);
+                stats.decodes.increment();
+                return payload;
+            }
+        );
+    }
+
+    /**
+     * Send a payload to one player and count it
+     */
+    public static void sendToPlayer(ServerPlayer player, CustomPacketPayload payload) {
+        recordSend(player.getUUID(), payload);
+        PacketDistributor.sendToPlayer(player, payload);
+    }
+
+    /**
+     * Send the same payload to several players, counted as one payload fanned out to each of them
+     */
+    public static void sendToPlayers(Collection<ServerPlayer> players, CustomPacketPayload payload) {
+        if (players.isEmpty()) {
+            return;
+        }
+        ResourceLocation id = payload.type().id();
+        Stats stats = stats(overall, id);
+        stats.payloads.increment();
+        stats.recipients.add(players.size());
+        for (ServerPlayer player : players) {
+            Stats playerStats = stats(perPlayer.computeIfAbsent(player.getUUID(), key -> new ConcurrentHashMap<>()), id);
+            playerStats.payloads.increment();
+            playerStats.recipients.increment();
+            PacketDistributor.sendToPlayer(player, payload);
+        }
+    }
+
+    /**
+     * Count a payload sent to a player by other means (e.g. a configuration task's sender)
+     */
+    public static void recordSend(UUID playerId, CustomPacketPayload payload) {
+        ResourceLocation id = payload.type().id();
+        Stats stats = stats(overall, id);
+        stats.payloads.increment();
+        stats.recipients.increment();
+        Stats playerStats = stats(perPlayer.computeIfAbsent(playerId, key -> new ConcurrentHashMap<>()), id);
+        playerStats.payloads.increment();
+        playerStats.recipients.increment();
+    }
+
+    /**
+     * Overall counters by payload type, sorted by type id
+     */
+    public static Map<ResourceLocation, Stats> overall() {
+        return new TreeMap<>(overall);
+    }
+
+    /**
+     * Counters by payload type for one player (only sends are tracked per player), sorted by type id
+     */
+    public static Map<ResourceLocation, Stats> forPlayer(UUID playerId) {
+        Map<ResourceLocation, Stats> stats = perPlayer.get(playerId);
+        return stats != null ? new TreeMap<>(stats) : Map.of();
+    }
+
+    /**
+     * Estimated bytes sent to a player: their payload count per type times the type's mean encoded size
+     */
+    public static long estimatedBytesTo(UUID playerId) {
+        double bytes = 0;
+        for (var entry : forPlayer(playerId).entrySet()) {
+            Stats typeStats = overall.get(entry.getKey());
+            if (typeStats != null) {
+                bytes += entry.getValue().recipients.sum() * typeStats.meanBytesOut();
+            }
+        }
+        return Math.round(bytes);
+    }
+
+    /**
+     * Drop a player's counters (logout), so the per-player map does not grow with every player ever seen
+     */
+    public static void forgetPlayer(UUID playerId) {
+        perPlayer.remove(playerId);
+    }
+
+    /**
+     * Drop every player's counters (server stopped), including players who disconnected during configuration
+     */
+    public static void forgetAllPlayers() {
+        perPlayer.clear();
+    }
+
+    public static long getStartedAt() {
+        return startedAt;
+    }
+
+    public static void reset() {
+        overall.clear();
+        perPlayer.clear();
+        startedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Write all counters as CSV: one row per payload type overall, then one per player and payload type
+     */
+    public static void export(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("scope,payload,payloads,recipients,encodes,bytes_out,encode_nanos,decodes,bytes_in\n");
+            for (var entry : overall().entrySet()) {
+                writeRow(writer, "all", entry.getKey(), entry.getValue());
+            }
+            for (UUID playerId : perPlayer.keySet()) {
+                for (var entry : forPlayer(playerId).entrySet()) {
+                    writeRow(writer, playerId.toString(), entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private static void writeRow(Writer writer, String scope, ResourceLocation id, Stats stats) throws IOException {
+        writer.write(scope + "," + id + "," + stats.payloads.sum() + "," + stats.recipients.sum() + ","
+            + stats.encodes.sum() + "," + stats.bytesOut.sum() + "," + stats.encodeNanos.sum() + ","
+            + stats.decodes.sum() + "," + stats.bytesIn.sum() + "\n");
+    }
+
+    private static Stats stats(Map<ResourceLocation, Stats> map, ResourceLocation id) {
+        return map.computeIfAbsent(id, key -> new Stats());
+    }
+}
@@ -0,0 +1,207 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.texture.GhastResidencyIndex;
+import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-tick outbound queue for texture variant updates (SERVER-SIDE ONLY)
+ *
+ * Sync calls during a tick only mark ghasts dirty for a set of recipients. At the end of the tick the dirty
+ * ghasts move to each recipient's session queue, and every player receives at most one payload per tick
+ * holding the latest state of as many queued ghasts as their {@link SendBudget} allows, highest priority first.
+ * Repeated syncs of the same ghast (name change, dimension change, ...) are sent once.
+ */
+public final class OutboundVariantQueue {
+
+    // Ghasts to send to every online player
+    private static final Set<UUID> broadcastDirty = new LinkedHashSet<>();
+
+    // Ghasts to send to the players tracking them
+    private static final Set<UUID> trackingDirty = new LinkedHashSet<>();
+
+    // Ghasts to send to one specific player
+    private static final Map<UUID, Set<UUID>> playerDirty = new HashMap<>();
+
+    // Ghasts whose variants were removed this tick (notice goes to every player)
+    private static final List<UUID> removed = new ArrayList<>();
+
+    // Counters since server start
+    private static long requested = 0;
+    private static long merged = 0;
+    private static long packetsSent = 0;
+    private static long variantsSent = 0;
+
+    private OutboundVariantQueue() {
+    }
+
+    public static void markBroadcast(UUID ghastId) {
+        record(broadcastDirty.add(ghastId));
+    }
+
+    public static void markTracking(UUID ghastId) {
+        record(trackingDirty.add(ghastId));
+    }
+
+    public static void markForPlayer(ServerPlayer player, UUID ghastId) {
+        record(playerDirty.computeIfAbsent(player.getUUID(), id -> new LinkedHashSet<>()).add(ghastId));
+    }
+
+    public static void markRemoved(UUID ghastId) {
+        removed.add(ghastId);
+    }
+
+    private static void record(boolean added) {
+        requested++;
+        if (!added) {
+            merged++;
+        }
+    }
+
+    /**
+     * Hand this tick's dirty ghasts to each recipient's session queue, merging with updates still waiting there
+     */
+    public static void flush(MinecraftServer server) {
+        if (broadcastDirty.isEmpty() && trackingDirty.isEmpty() && playerDirty.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+
+        long tick = server.getTickCount();
+        // Removal notices are tiny and sent to everyone outside the send budget
+        if (!removed.isEmpty()) {
+            NetworkMetrics.sendToPlayers(server.getPlayerList().getPlayers(), new VariantRemovedPacket(List.copyOf(removed)));
+        }
+
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            VariantSyncSession session = VariantSyncSession.get(player);
+            for (UUID ghastId : removed) {
+                session.dropUpdate(ghastId);
+            }
+
+            for (UUID ghastId : broadcastDirty) {
+                queue(player, session, ghastId, tick);
+            }
+            for (UUID ghastId : trackingDirty) {
+                if (session.isTracking(ghastId)) {
+                    queue(player, session, ghastId, tick);
+                }
+            }
+            Set<UUID> direct = playerDirty.get(player.getUUID());
+            if (direct != null) {
+                for (UUID ghastId : direct) {
+                    queue(player, session, ghastId, tick);
+                }
+            }
+        }
+
+        broadcastDirty.clear();
+        trackingDirty.clear();
+        playerDirty.clear();
+        removed.clear();
+    }
+
+    /**
+     * Queue an update with the player's distance to the ghast's chunk now; the ghast they ride comes first
+     */
+    private static void queue(ServerPlayer player, VariantSyncSession session, UUID ghastId, long tick) {
+        Entity vehicle = player.getVehicle();
+        double distanceSqr = vehicle != null && vehicle.getUUID().equals(ghastId) ? 0
+            : GhastResidencyIndex.distanceSqr(ghastId, (ServerLevel) player.level(), player.blockPosition());
+        if (!session.queueUpdate(ghastId, tick, distanceSqr)) {
+            merged++;
+        }
+    }
+
+    /**
+     * Send one payload with as many of the player's queued updates as the send budget allows
+     *
+     * Updates waiting {@code maxWaitTicks} or longer go first (oldest first), so far-away ghasts are not starved
+     * while nearby ones keep changing; the rest go nearest first, by the distance recorded when they were queued.
+     */
+    public static void drain(ServerPlayer player, VariantSyncSession session, long tick, int maxWaitTicks) {
+        if (!session.hasPendingUpdates() || !session.budget().hasTokens()) {
+            return;
+        }
+
+        int limit = session.budget().affordableVariants();
+        List<HappyGhastTextureManager.HappyGhastTextureVariant> batch =
+            new ArrayList<>(Math.min(limit, session.pendingUpdateCount()));
+        while (batch.size() < limit) {
+            UUID ghastId = session.pollUpdate(tick, maxWaitTicks);
+            if (ghastId == null) {
+                break;
+            }
+            var variant = HappyGhastTextureManager.getTextureVariant(ghastId);
+            if (variant != null && variant.isLocked) {
+                batch.add(variant);
+            }
+        }
+        send(player, session, batch);
+    }
+
+    private static void send(ServerPlayer player, VariantSyncSession session,
+                             List<HappyGhastTextureManager.HappyGhastTextureVariant> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() == 1) {
+            TextureSyncPacket packet = TextureSyncPacket.create(session.palette(), batch.get(0));
+            NetworkMetrics.sendToPlayer(player, packet);
+            session.budget().consume(SendBudget.payloadBytes(packet, packet.encodedSize()));
+        } else {
+            BulkTextureSyncPacket packet = BulkTextureSyncPacket.create(session.palette(), batch);
+            NetworkMetrics.sendToPlayer(player, packet);
+            session.budget().consume(SendBudget.payloadBytes(packet, packet.encodedSize()));
+        }
+        packetsSent++;
+        variantsSent += batch.size();
+    }
+
+    /**
+     * Drop pending sends for a player that left
+     */
+    public static void forgetPlayer(UUID playerId) {
+        playerDirty.remove(playerId);
+    }
+
+    /**
+     * Drop everything (server stopping)
+     */
+    public static void clear() {
+        broadcastDirty.clear();
+        trackingDirty.clear();
+        playerDirty.clear();
+        removed.clear();
+        requested = 0;
+        merged = 0;
+        packetsSent = 0;
+        variantsSent = 0;
+    }
+
+    public static long getRequested() {
+        return requested;
+    }
+
+    public static long getMerged() {
+        return merged;
+    }
+
+    public static long getPacketsSent() {
+        return packetsSent;
+    }
+
+    public static long getVariantsSent() {
+        return variantsSent;
+    }
+}
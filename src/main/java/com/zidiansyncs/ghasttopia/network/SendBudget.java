@@ -0,0 +1,61 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import net.minecraft.network.VarInt;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+
+/**
+ * Token bucket limiting the texture sync bytes sent to one player (SERVER-SIDE ONLY)
+ *
+ * Refilled every tick at the configured rate and capped at one second's worth of burst.
+ * A send may take the bucket negative, so a payload larger than the burst still goes out,
+ * but nothing else is sent until the debt has been refilled.
+ * Sends are charged their exact encoded size (before compression); the per-variant estimate is only used to
+ * decide how many variants the next payload may carry.
+ */
+public class SendBudget {
+
+    // Planning estimates: payload framing and id, and one variant in the compact layout (UUID, flags, palette refs)
+    public static final int PAYLOAD_OVERHEAD_BYTES = 40;
+    public static final int VARIANT_BYTES = 24;
+
+    private double tokens = 0;
+    private boolean initialized = false;
+
+    /**
+     * Add one tick's worth of tokens (the first refill starts with a full bucket)
+     */
+    public void refill(int bytesPerSecond) {
+        if (!initialized) {
+            tokens = bytesPerSecond;
+            initialized = true;
+            return;
+        }
+        tokens = Math.min(tokens + bytesPerSecond / 20.0, bytesPerSecond);
+    }
+
+    public boolean hasTokens() {
+        return tokens > 0;
+    }
+
+    /**
+     * Number of variants one payload may carry with the tokens left (at least one while tokens remain)
+     */
+    public int affordableVariants() {
+        return (int) Math.max(1, (tokens - PAYLOAD_OVERHEAD_BYTES) / VARIANT_BYTES);
+    }
+
+    /**
+     * Charge one sent payload
+     */
+    public void consume(int bytes) {
+        tokens -= bytes;
+    }
+
+    /**
+     * Size on the wire of a custom payload with the given body size: frame length, packet id, payload id, body
+     */
+    public static int payloadBytes(CustomPacketPayload payload, int bodyBytes) {
+        int packetBytes = 1 + VariantWireFormat.utfSize(payload.type().id().toString()) + bodyBytes;
+        return VarInt.getByteSize(packetBytes) + packetBytes;
+    }
+}
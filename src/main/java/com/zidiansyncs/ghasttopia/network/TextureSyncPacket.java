@@ -11,70 +11,48 @@ import java.util.UUID;
 
 /**
  * Packet for synchronizing individual texture variants from server to client
+ * Uses the compact {@link VariantWireFormat} layout; the ghast UUID is only sent once, inside the variant.
+ * Packets are built per player, since the string table refers to that player's connection palette.
+ * A built packet holds the {@code variant}; a decoded one holds the raw {@code entry}, resolved by the handler.
  */
 public record TextureSyncPacket(
-    UUID ghastId,
-    HappyGhastTextureManager.HappyGhastTextureVariant variant
+    VariantStringTable strings,
+    HappyGhastTextureManager.HappyGhastTextureVariant variant,
+    VariantWireFormat.Entry entry
 ) implements CustomPacketPayload {
     
     public static final Type<TextureSyncPacket> TYPE = 
         new Type<>(ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "texture_sync"));
     
     public static final StreamCodec<RegistryFriendlyByteBuf, TextureSyncPacket> STREAM_CODEC = 
-        StreamCodec.composite(
-            // UUID codec
-            StreamCodec.of(
-                (buf, uuid) -> {
-                    buf.writeLong(uuid.getMostSignificantBits());
-                    buf.writeLong(uuid.getLeastSignificantBits());
-                },
-                buf -> new UUID(buf.readLong(), buf.readLong())
-            ),
-            TextureSyncPacket::ghastId,
-            
-            // Texture variant codec
-            StreamCodec.of(
-                (buf, variant) -> {
-                    // Write UUID
-                    buf.writeLong(variant.ghastId.getMostSignificantBits());
-                    buf.writeLong(variant.ghastId.getLeastSignificantBits());
-                    
-                    // Write strings
-                    buf.writeUtf(variant.spawnBiome != null ? variant.spawnBiome : "minecraft:plains");
-                    buf.writeUtf(variant.mushroomType != null ? variant.mushroomType : "red");
-                    
-                    // Write booleans
-                    buf.writeBoolean(variant.hasRpgName);
-                    buf.writeBoolean(variant.hasExcelsiesName);
-                    buf.writeBoolean(variant.isMushroomVariant);
-                    buf.writeBoolean(variant.isLocked);
-                },
-                buf -> {
-                    // Read UUID
-                    UUID ghastId = new UUID(buf.readLong(), buf.readLong());
-                    
-                    // Read strings
-                    String spawnBiome = buf.readUtf();
-                    String mushroomType = buf.readUtf();
-                    
-                    // Read booleans
-                    boolean hasRpgName = buf.readBoolean();
-                    boolean hasExcelsiesName = buf.readBoolean();
-                    boolean isMushroomVariant = buf.readBoolean();
-                    boolean isLocked = buf.readBoolean();
-                    
-                    // Create variant with all parameters
-                    var variant = new HappyGhastTextureManager.HappyGhastTextureVariant(
-                        ghastId, spawnBiome, hasRpgName, hasExcelsiesName,
-                        isMushroomVariant, mushroomType, "minecraft:overworld"
-                    );
-                    
-                    return variant;
-                }
-            ),
-            TextureSyncPacket::variant,
-            TextureSyncPacket::new
+        StreamCodec.of(
+            (buf, packet) -> {
+                VariantStringTable.write(buf, packet.strings());
+                VariantWireFormat.writeVariant(buf, packet.strings(), packet.variant());
+            },
+            buf -> {
+                var strings = VariantStringTable.read(buf);
+                return new TextureSyncPacket(strings, null, VariantWireFormat.readEntry(buf));
+            }
         );
+
+    /**
+     * Build a packet for one player, registering the variant's strings in their connection palette
+     */
+    public static TextureSyncPacket create(VariantPalette palette, HappyGhastTextureManager.HappyGhastTextureVariant variant) {
+        return new TextureSyncPacket(palette.begin().add(variant).build(), variant, null);
+    }
+
+    /**
+     * Encoded size of a built packet
+     */
+    public int encodedSize() {
+        return strings.encodedSize() + VariantWireFormat.encodedSize(strings, variant);
+    }
+
+    public UUID ghastId() {
+        return variant != null ? variant.ghastId : entry.ghastId();
+    }
     
     @Override
     public Type<? extends CustomPacketPayload> type() {
@@ -0,0 +1,52 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Server answer to a {@link VariantCacheSummaryPacket}, sent before the variants themselves
+ *
+ * @param storeId  id of the server store
+ * @param fullSync true when the client must drop its cache and will receive every variant;
+ *                 false when only variants changed since the client's epoch follow
+ * @param removed  ghasts removed since the client's epoch (empty for a full sync)
+ */
+public record VariantCacheBeginPacket(UUID storeId, boolean fullSync, List<UUID> removed) implements CustomPacketPayload {
+
+    public static final Type<VariantCacheBeginPacket> TYPE =
+        new Type<>(ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "variant_cache_begin"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, VariantCacheBeginPacket> STREAM_CODEC =
+        StreamCodec.of(
+            (buf, packet) -> {
+                buf.writeUUID(packet.storeId);
+                buf.writeBoolean(packet.fullSync);
+                buf.writeVarInt(packet.removed.size());
+                for (UUID ghastId : packet.removed) {
+                    buf.writeUUID(ghastId);
+                }
+            },
+            buf -> {
+                UUID storeId = buf.readUUID();
+                boolean fullSync = buf.readBoolean();
+                int count = buf.readVarInt();
+                List<UUID> removed = new ArrayList<>(Math.min(count, 4096));
+                for (int i = 0; i < count; i++) {
+                    removed.add(buf.readUUID());
+                }
+                return new VariantCacheBeginPacket(storeId, fullSync, removed);
+            }
+        );
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
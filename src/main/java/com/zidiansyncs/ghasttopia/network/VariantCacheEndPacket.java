@@ -0,0 +1,35 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Sent after the last variant of a cache sync; lets the client verify its store
+ *
+ * @param epoch  store epoch of the snapshot the sync was built from
+ * @param count  number of locked variants in the server store
+ * @param digest {@link VariantDigest#storeDigest} of the server store
+ */
+public record VariantCacheEndPacket(long epoch, int count, int digest) implements CustomPacketPayload {
+
+    public static final Type<VariantCacheEndPacket> TYPE =
+        new Type<>(ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "variant_cache_end"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, VariantCacheEndPacket> STREAM_CODEC =
+        StreamCodec.of(
+            (buf, packet) -> {
+                buf.writeVarLong(packet.epoch);
+                buf.writeVarInt(packet.count);
+                buf.writeInt(packet.digest);
+            },
+            buf -> new VariantCacheEndPacket(buf.readVarLong(), buf.readVarInt(), buf.readInt())
+        );
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
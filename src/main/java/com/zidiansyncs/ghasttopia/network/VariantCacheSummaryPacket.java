@@ -0,0 +1,57 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.UUID;
+
+/**
+ * Client to server summary of the client's persisted variant cache, sent when joining
+ *
+ * @param storeId id of the server store the cache came from ({@link #NO_STORE} when there is no usable cache)
+ * @param epoch   store epoch the cache was consistent with
+ * @param count   number of cached variants
+ * @param digest  {@link VariantDigest#storeDigest} of the cached variants
+ * @param partial true when the cache is a subset of the store (entries were evicted), so digests cannot be compared
+ */
+public record VariantCacheSummaryPacket(UUID storeId, long epoch, int count, int digest, boolean partial) implements CustomPacketPayload {
+
+    public static final UUID NO_STORE = new UUID(0L, 0L);
+
+    public static final Type<VariantCacheSummaryPacket> TYPE =
+        new Type<>(ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "variant_cache_summary"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, VariantCacheSummaryPacket> STREAM_CODEC =
+        StreamCodec.of(
+            (buf, packet) -> {
+                buf.writeUUID(packet.storeId);
+                buf.writeVarLong(packet.epoch + 1); // -1 (no cache) becomes 0
+                buf.writeVarInt(packet.count);
+                buf.writeInt(packet.digest);
+                buf.writeBoolean(packet.partial);
+            },
+            buf -> new VariantCacheSummaryPacket(buf.readUUID(), buf.readVarLong() - 1, buf.readVarInt(), buf.readInt(), buf.readBoolean())
+        );
+
+    /**
+     * Summary of a client without a usable cache (requests a full sync)
+     */
+    public static VariantCacheSummaryPacket empty() {
+        return new VariantCacheSummaryPacket(NO_STORE, -1, 0, 0, false);
+    }
+
+    /**
+     * Full sync request from a client whose store may be incomplete (palette desync), so nothing may be skipped
+     */
+    public static VariantCacheSummaryPacket resync() {
+        return new VariantCacheSummaryPacket(NO_STORE, -1, 0, 0, true);
+    }
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
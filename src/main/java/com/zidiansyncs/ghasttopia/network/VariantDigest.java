@@ -0,0 +1,54 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bucketed digest of the texture variants held for a set of ghasts
+ *
+ * Ghasts are spread over {@link #BUCKETS} buckets by UUID; each bucket is the XOR of the
+ * {@link HappyGhastTextureManager.HappyGhastTextureVariant#contentHash() content hashes} of its locked variants.
+ * Client and server compute it the same way, so only buckets whose hashes differ need to be resent.
+ */
+public final class VariantDigest {
+
+    public static final int BUCKETS = 32;
+
+    private VariantDigest() {
+    }
+
+    public static int bucketOf(UUID ghastId) {
+        long bits = ghastId.getMostSignificantBits() ^ ghastId.getLeastSignificantBits();
+        return (int) (bits ^ (bits >>> 32)) & (BUCKETS - 1);
+    }
+
+    /**
+     * Compute the digest over the given ghasts, looking up each one's variant
+     */
+    public static int[] compute(Iterable<UUID> ghastIds,
+                                Function<UUID, HappyGhastTextureManager.HappyGhastTextureVariant> lookup) {
+        int[] buckets = new int[BUCKETS];
+        for (UUID ghastId : ghastIds) {
+            HappyGhastTextureManager.HappyGhastTextureVariant variant = lookup.apply(ghastId);
+            if (variant != null && variant.isLocked) {
+                buckets[bucketOf(ghastId)] ^= variant.contentHash();
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Order-independent hash of a whole store (XOR of the locked variants' content hashes)
+     */
+    public static int storeDigest(Iterable<HappyGhastTextureManager.HappyGhastTextureVariant> variants) {
+        int digest = 0;
+        for (HappyGhastTextureManager.HappyGhastTextureVariant variant : variants) {
+            if (variant.isLocked) {
+                digest ^= variant.contentHash();
+            }
+        }
+        return digest;
+    }
+}
@@ -0,0 +1,38 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Client to server digest of the variants the client holds for the ghasts it has loaded
+ * {@link VariantDigest#BUCKETS} bucket hashes; the server resends only the buckets that differ
+ */
+public record VariantDigestPacket(int[] buckets) implements CustomPacketPayload {
+
+    public static final Type<VariantDigestPacket> TYPE =
+        new Type<>(ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "variant_digest"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, VariantDigestPacket> STREAM_CODEC =
+        StreamCodec.of(
+            (buf, packet) -> {
+                for (int i = 0; i < VariantDigest.BUCKETS; i++) {
+                    buf.writeInt(packet.buckets[i]);
+                }
+            },
+            buf -> {
+                int[] buckets = new int[VariantDigest.BUCKETS];
+                for (int i = 0; i < VariantDigest.BUCKETS; i++) {
+                    buckets[i] = buf.readInt();
+                }
+                return new VariantDigestPacket(buckets);
+            }
+        );
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,76 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Server-side string palette for one client connection
+ *
+ * Biome and level ids get a small id the first time they are sent to a player;
+ * later packets only carry the id. The palette lives for the connection and is
+ * dropped on logout, matching the client which resets its copy on disconnect.
+ */
+public class VariantPalette {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * Start building the string table for one packet
+     */
+    public Builder begin() {
+        return new Builder();
+    }
+
+    /**
+     * Forget every assigned id; the next packet redefines its strings from id 0 (full resync)
+     */
+    public void reset() {
+        ids.clear();
+    }
+
+    /**
+     * Number of strings assigned so far
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Collects the strings used by one packet, assigning ids to unseen ones
+     */
+    public class Builder {
+        private final int firstNewId = ids.size();
+        private final List<String> newStrings = new ArrayList<>();
+        private final Map<String, Integer> used = new HashMap<>();
+
+        /**
+         * Register every string a variant puts on the wire
+         */
+        public Builder add(HappyGhastTextureManager.HappyGhastTextureVariant variant) {
+            add(variant.spawnBiome);
+            add(variant.levelId);
+            return this;
+        }
+
+        private void add(String value) {
+            if (used.containsKey(value)) {
+                return;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = ids.size();
+                ids.put(value, id);
+                newStrings.add(value);
+            }
+            used.put(value, id);
+        }
+
+        public VariantStringTable build() {
+            return new VariantStringTable(firstNewId, List.copyOf(newStrings), Map.copyOf(used));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Marks the end of the configuration-phase variant preload
+ * Sent by the server after the last preload frame and echoed back by the client as its acknowledgement
+ */
+public record VariantPreloadDonePacket() implements CustomPacketPayload {
+
+    public static final VariantPreloadDonePacket INSTANCE = new VariantPreloadDonePacket();
+
+    public static final Type<VariantPreloadDonePacket> TYPE =
+        new Type<>(ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "variant_preload_done"));
+
+    public static final StreamCodec<ByteBuf, VariantPreloadDonePacket> STREAM_CODEC = StreamCodec.unit(INSTANCE);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
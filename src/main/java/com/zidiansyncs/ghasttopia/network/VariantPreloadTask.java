@@ -0,0 +1,160 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.Config;
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import com.zidiansyncs.ghasttopia.mixin.PlayerListAccessor;
+import net.minecraft.Util;
+import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.network.ConfigurationTask;
+import net.minecraft.world.entity.animal.HappyGhast;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.storage.PlayerDataStorage;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.network.configuration.ICustomConfigurationTask;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Configuration task that sends the variants of ghasts near the joining player's position before play starts
+ *
+ * The position comes from the player's saved data, read off the server thread, or the world spawn for new players.
+ * Variants are sent in bounded {@link BulkTextureSyncPacket} frames through the connection's palette, followed by
+ * a {@link VariantPreloadDonePacket} that the client echoes back to finish the task.
+ */
+public class VariantPreloadTask implements ICustomConfigurationTask {
+
+    public static final ConfigurationTask.Type TYPE =
+        new ConfigurationTask.Type(ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "variant_preload"));
+
+    // Upper bound on preloaded variants; the rest arrive with the play-phase sync
+    private static final int MAX_PRELOAD = 512;
+
+    private final MinecraftServer server;
+    private final UUID playerId;
+
+    public VariantPreloadTask(MinecraftServer server, UUID playerId) {
+        this.server = server;
+        this.playerId = playerId;
+    }
+
+    @Override
+    public void run(Consumer<CustomPacketPayload> taskSender) {
+        Consumer<CustomPacketPayload> sender = payload -> {
+            NetworkMetrics.recordSend(playerId, payload);
+            taskSender.accept(payload);
+        };
+        // Player data is read on the IO pool; the lookup and the frames run back on the server thread
+        CompletableFuture.supplyAsync(this::readPlayerData, Util.ioPool())
+            .thenAcceptAsync(playerData -> sendPreload(sender, playerData), server)
+            .exceptionally(e -> {
+                GhastTopia.LOGGER.warn("Variant preload for {} failed: {}", playerId, e.getMessage());
+                sender.accept(VariantPreloadDonePacket.INSTANCE);
+                return null;
+            });
+    }
+
+    private void sendPreload(Consumer<CustomPacketPayload> sender, CompoundTag playerData) {
+        List<HappyGhastTextureManager.HappyGhastTextureVariant> variants = findNearbyVariants(playerData);
+        VariantSyncSession session = VariantSyncSession.get(playerId);
+        VariantPalette palette = session.palette();
+
+        int frameSize = Config.BULK_SYNC_FRAME_SIZE.get();
+        for (int start = 0; start < variants.size(); start += frameSize) {
+            List<HappyGhastTextureManager.HappyGhastTextureVariant> frame =
+                variants.subList(start, Math.min(start + frameSize, variants.size()));
+            sender.accept(BulkTextureSyncPacket.create(palette, frame));
+        }
+        sender.accept(VariantPreloadDonePacket.INSTANCE);
+
+        // Skipped by the first play-phase sync unless they change before it
+        List<UUID> preloadedIds = new ArrayList<>(variants.size());
+        for (var variant : variants) {
+            preloadedIds.add(variant.ghastId);
+        }
+        session.recordPreload(preloadedIds, HappyGhastTextureManager.getJournal());
+
+        GhastTopia.LOGGER.debug("Preloaded {} texture variants for {}", variants.size(), playerId);
+    }
+
+    @Override
+    public Type type() {
+        return TYPE;
+    }
+
+    /**
+     * Locked variants of the loaded ghasts around the player's saved position, nearest first
+     */
+    private List<HappyGhastTextureManager.HappyGhastTextureVariant> findNearbyVariants(CompoundTag playerData) {
+        ServerLevel level = server.overworld();
+        Vec3 center = Vec3.atCenterOf(level.getSharedSpawnPos());
+
+        if (playerData != null) {
+            ListTag pos = playerData.getList("Pos").orElse(new ListTag());
+            if (pos.size() == 3) {
+                center = new Vec3(pos.getDoubleOr(0, 0.0), pos.getDoubleOr(1, 0.0), pos.getDoubleOr(2, 0.0));
+            }
+            ResourceLocation dimension = ResourceLocation.tryParse(playerData.getString("Dimension").orElse(""));
+            ServerLevel savedLevel = dimension != null ? server.getLevel(ResourceKey.create(Registries.DIMENSION, dimension)) : null;
+            if (savedLevel != null) {
+                level = savedLevel;
+            }
+        }
+
+        int radius = Config.PRELOAD_RADIUS.get();
+        Vec3 origin = center;
+        List<HappyGhast> ghasts = level.getEntitiesOfClass(HappyGhast.class, AABB.ofSize(origin, radius * 2, radius * 2, radius * 2));
+        ghasts.sort(Comparator.comparingDouble(ghast -> ghast.distanceToSqr(origin)));
+
+        List<HappyGhastTextureManager.HappyGhastTextureVariant> variants = new ArrayList<>();
+        for (HappyGhast ghast : ghasts) {
+            var variant = HappyGhastTextureManager.getTextureVariant(ghast.getUUID());
+            if (variant != null && variant.isLocked) {
+                variants.add(variant);
+                if (variants.size() >= MAX_PRELOAD) {
+                    break;
+                }
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * The player's saved data from the player list's storage (or its backup), or null for new players
+     * (and the singleplayer host, whose data lives in level.dat). Runs on the IO pool.
+     */
+    private CompoundTag readPlayerData() {
+        PlayerDataStorage storage = ((PlayerListAccessor) server.getPlayerList()).ehg$getPlayerIo();
+        Path dir = storage.getPlayerDir().toPath();
+        for (String suffix : new String[] {".dat", ".dat_old"}) {
+            Path file = dir.resolve(playerId + suffix);
+            if (!Files.exists(file)) {
+                continue;
+            }
+            try {
+                return NbtIo.readCompressed(file, NbtAccounter.unlimitedHeap());
+            } catch (IOException e) {
+                GhastTopia.LOGGER.warn("Could not read player data {} for variant preload: {}", file, e.getMessage());
+            }
+        }
+        return null;
+    }
+}
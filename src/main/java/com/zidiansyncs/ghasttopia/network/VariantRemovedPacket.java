@@ -0,0 +1,44 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tells clients to drop the texture variants of ghasts removed on the server
+ * Varint count followed by ghast UUIDs; sent at most once per tick with every removal of that tick
+ */
+public record VariantRemovedPacket(List<UUID> ghastIds) implements CustomPacketPayload {
+
+    public static final Type<VariantRemovedPacket> TYPE =
+        new Type<>(ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "variant_removed"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, VariantRemovedPacket> STREAM_CODEC =
+        StreamCodec.of(
+            (buf, packet) -> {
+                buf.writeVarInt(packet.ghastIds.size());
+                for (UUID ghastId : packet.ghastIds) {
+                    buf.writeUUID(ghastId);
+                }
+            },
+            buf -> {
+                int count = buf.readVarInt();
+                List<UUID> ghastIds = new ArrayList<>(Math.min(count, 4096));
+                for (int i = 0; i < count; i++) {
+                    ghastIds.add(buf.readUUID());
+                }
+                return new VariantRemovedPacket(ghastIds);
+            }
+        );
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,50 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Client to server request for texture variants the client is missing
+ * Varint count followed by ghast UUIDs; the server answers with one batched sync payload
+ */
+public record VariantRequestPacket(List<UUID> ghastIds) implements CustomPacketPayload {
+
+    // Upper bound on ids in one request, enforced on both ends
+    public static final int MAX_IDS = 64;
+
+    public static final Type<VariantRequestPacket> TYPE =
+        new Type<>(ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "variant_request"));
+
+    public static final StreamCodec<RegistryFriendlyByteBuf, VariantRequestPacket> STREAM_CODEC =
+        StreamCodec.of(
+            (buf, packet) -> {
+                buf.writeVarInt(packet.ghastIds.size());
+                for (UUID ghastId : packet.ghastIds) {
+                    buf.writeUUID(ghastId);
+                }
+            },
+            buf -> {
+                int count = buf.readVarInt();
+                if (count < 0 || count > MAX_IDS) {
+                    throw new IllegalArgumentException("Variant request with " + count + " ids (max " + MAX_IDS + ")");
+                }
+                List<UUID> ghastIds = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    ghastIds.add(buf.readUUID());
+                }
+                return new VariantRequestPacket(ghastIds);
+            }
+        );
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,69 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.VarInt;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strings referenced by one sync packet, resolved against the per-connection palette
+ *
+ * On the server it is built by {@link VariantPalette#begin()} right before sending, so the ids are fixed
+ * in send order. On the wire only the strings the client has not seen yet are written; every other
+ * string is referenced by its small palette id. Decoding has no side effects: the client handler applies
+ * the definitions to {@link ClientVariantPalette} in packet order.
+ *
+ * @param firstNewId id of the first newly defined string
+ * @param newStrings strings defined for the first time by this packet
+ * @param ids        palette ids of all strings used by the packet (empty once decoded)
+ */
+public record VariantStringTable(int firstNewId, List<String> newStrings, Map<String, Integer> ids) {
+
+    /**
+     * Palette id of a string used by this packet
+     */
+    public int idOf(String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            throw new IllegalStateException("String '" + value + "' was not registered in the sync palette");
+        }
+        return id;
+    }
+
+    /**
+     * Bytes written by {@link #write}
+     */
+    public int encodedSize() {
+        int size = VarInt.getByteSize(firstNewId) + VarInt.getByteSize(newStrings.size());
+        for (String value : newStrings) {
+            size += VariantWireFormat.utfSize(value);
+        }
+        return size;
+    }
+
+    /**
+     * Write the newly defined strings
+     */
+    public static void write(RegistryFriendlyByteBuf buf, VariantStringTable table) {
+        buf.writeVarInt(table.firstNewId);
+        buf.writeVarInt(table.newStrings.size());
+        for (String value : table.newStrings) {
+            buf.writeUtf(value);
+        }
+    }
+
+    /**
+     * Read newly defined strings (applied to the client palette by the handler, not here)
+     */
+    public static VariantStringTable read(RegistryFriendlyByteBuf buf) {
+        int firstNewId = buf.readVarInt();
+        int count = buf.readVarInt();
+        String[] newStrings = new String[count];
+        for (int i = 0; i < count; i++) {
+            newStrings[i] = buf.readUtf();
+        }
+
+        return new VariantStringTable(firstNewId, List.of(newStrings), Map.of());
+    }
+}
@@ -0,0 +1,24 @@
+package com.zidiansyncs.ghasttopia.network;
+
+/**
+ * Controls who receives texture variant updates from the server
+ */
+public enum VariantSyncMode {
+    // Variants travel only inside the ghast's synced entity data, so they arrive atomically with the
+    // entity spawn and updates go through the vanilla dirty-data mechanism. No separate sync packets are sent.
+    ENTITY_DATA,
+
+    // Only players currently tracking the ghast receive its updates.
+    // A ghast's variant is pushed to a player when they start tracking it.
+    TRACKING,
+
+    // Every online player receives every update, regardless of dimension or distance (legacy behaviour)
+    ALL_PLAYERS;
+
+    /**
+     * True when this mode replicates variants to the client-side store with sync packets
+     */
+    public boolean usesSyncPackets() {
+        return this != ENTITY_DATA;
+    }
+}
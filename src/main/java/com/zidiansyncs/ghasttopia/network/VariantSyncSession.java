@@ -0,0 +1,337 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.texture.VariantStoreJournal;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-connection texture sync state for one player (SERVER-SIDE ONLY)
+ * Created on first use and dropped when the player logs out, so every reconnect starts fresh.
+ */
+public class VariantSyncSession {
+
+    // Bound on requested ids waiting for the request rate limit
+    private static final int MAX_REQUESTED_VARIANTS = VariantRequestPacket.MAX_IDS * 4;
+
+    // Minimum game time between full resyncs requested mid-session (30 seconds)
+    private static final int FULL_RESYNC_INTERVAL_TICKS = 20 * 30;
+
+    private static final Map<UUID, VariantSyncSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * A queued update in the distance order, with the player's distance to the ghast when it was queued
+     */
+    private record QueuedUpdate(UUID ghastId, long queuedTick, double distanceSqr) {
+    }
+
+    private final UUID playerId;
+    private final VariantPalette palette = new VariantPalette();
+    private final Set<UUID> trackedGhasts = new HashSet<>();
+    private final SendBudget budget = new SendBudget();
+    private final Map<UUID, Long> pendingUpdates = new LinkedHashMap<>(); // ghast id -> tick first queued, oldest first
+    private final PriorityQueue<QueuedUpdate> updatesByDistance =
+        new PriorityQueue<>(Comparator.comparingDouble(QueuedUpdate::distanceSqr)); // Stale entries skipped on poll
+    private final Set<UUID> requestedVariants = new LinkedHashSet<>();
+    private BulkSyncStream bulkStream;
+    private long lastVariantRequestTime = Long.MIN_VALUE / 2;
+    private long lastDigestTime = Long.MIN_VALUE / 2;
+    private long lastFullResyncTime = Long.MIN_VALUE / 2;
+    private boolean fullResyncRequested;
+    private long cacheSummaryDeadline = -1;
+    private boolean inPlay;
+    private Set<UUID> preloaded = Set.of();
+    private UUID preloadStoreId;
+    private long preloadEpoch;
+
+    private VariantSyncSession(UUID playerId) {
+        this.playerId = playerId;
+    }
+
+    /**
+     * Get or create the session for a player
+     */
+    public static VariantSyncSession get(ServerPlayer player) {
+        return get(player.getUUID());
+    }
+
+    /**
+     * Get or create the session for a player id (also used during configuration, before the player exists)
+     */
+    public static VariantSyncSession get(UUID playerId) {
+        return sessions.computeIfAbsent(playerId, VariantSyncSession::new);
+    }
+
+    /**
+     * Drop a player's session (logout)
+     */
+    public static void end(UUID playerId) {
+        sessions.remove(playerId);
+    }
+
+    /**
+     * Drop a session left by a login that never reached the play phase (disconnected during configuration)
+     */
+    public static void endUnfinishedLogin(UUID playerId) {
+        sessions.computeIfPresent(playerId, (id, session) -> session.inPlay ? session : null);
+    }
+
+    /**
+     * Drop all sessions (server stopping)
+     */
+    public static void clearAll() {
+        sessions.clear();
+    }
+
+    /**
+     * All open sessions
+     */
+    public static Collection<VariantSyncSession> all() {
+        return sessions.values();
+    }
+
+    public UUID playerId() {
+        return playerId;
+    }
+
+    /**
+     * The player reached the play phase
+     */
+    public void markInPlay() {
+        inPlay = true;
+    }
+
+    /**
+     * Remember the variants sent by the configuration preload, with the journal position they were current at
+     */
+    public void recordPreload(Collection<UUID> ghastIds, VariantStoreJournal journal) {
+        preloaded = new HashSet<>(ghastIds);
+        preloadStoreId = journal.getStoreId();
+        preloadEpoch = journal.getEpoch();
+    }
+
+    /**
+     * Preloaded ghasts whose variants have not changed since the preload; consumed by the first sync
+     */
+    public Set<UUID> takePreloaded(VariantStoreJournal journal) {
+        Set<UUID> unchanged = preloaded;
+        preloaded = Set.of();
+        if (unchanged.isEmpty() || !journal.getStoreId().equals(preloadStoreId)) {
+            return Set.of();
+        }
+        journal.changedSince(preloadEpoch).forEach(unchanged::remove);
+        journal.removedSince(preloadEpoch).forEach(unchanged::remove);
+        return unchanged;
+    }
+
+    public VariantPalette palette() {
+        return palette;
+    }
+
+    public void startTracking(UUID ghastId) {
+        trackedGhasts.add(ghastId);
+    }
+
+    public void stopTracking(UUID ghastId) {
+        trackedGhasts.remove(ghastId);
+    }
+
+    public boolean isTracking(UUID ghastId) {
+        return trackedGhasts.contains(ghastId);
+    }
+
+    public Set<UUID> trackedGhasts() {
+        return trackedGhasts;
+    }
+
+    public SendBudget budget() {
+        return budget;
+    }
+
+    /**
+     * Queue a ghast update for this player; false when it was already waiting (merged)
+     *
+     * @param distanceSqr the player's squared distance to the ghast now (0 for the ghast they ride)
+     */
+    public boolean queueUpdate(UUID ghastId, long tick, double distanceSqr) {
+        if (pendingUpdates.putIfAbsent(ghastId, tick) != null) {
+            return false;
+        }
+        updatesByDistance.add(new QueuedUpdate(ghastId, tick, distanceSqr));
+        if (updatesByDistance.size() > pendingUpdates.size() * 2 + 64) {
+            // Mostly entries of updates dropped or sent as overdue; prune them
+            updatesByDistance.removeIf(update -> !isCurrent(update));
+        }
+        return true;
+    }
+
+    /**
+     * Drop a queued update (the variant was removed)
+     */
+    public void dropUpdate(UUID ghastId) {
+        pendingUpdates.remove(ghastId);
+    }
+
+    public boolean hasPendingUpdates() {
+        return !pendingUpdates.isEmpty();
+    }
+
+    public int pendingUpdateCount() {
+        return pendingUpdates.size();
+    }
+
+    /**
+     * Take the next update to send: one waiting {@code maxWaitTicks} or longer (oldest first), otherwise the
+     * nearest queued ghast
+     *
+     * @return the ghast id, or null when nothing is queued
+     */
+    public UUID pollUpdate(long tick, int maxWaitTicks) {
+        Iterator<Map.Entry<UUID, Long>> oldest = pendingUpdates.entrySet().iterator();
+        if (oldest.hasNext()) {
+            Map.Entry<UUID, Long> entry = oldest.next();
+            if (tick - entry.getValue() >= maxWaitTicks) {
+                oldest.remove();
+                return entry.getKey();
+            }
+        }
+
+        QueuedUpdate update;
+        while ((update = updatesByDistance.poll()) != null) {
+            if (isCurrent(update)) {
+                pendingUpdates.remove(update.ghastId());
+                return update.ghastId();
+            }
+        }
+        return null;
+    }
+
+    private boolean isCurrent(QueuedUpdate update) {
+        return Objects.equals(pendingUpdates.get(update.ghastId()), update.queuedTick());
+    }
+
+    /**
+     * Start a paced bulk sync; a snapshot taken while another is running is queued behind it
+     */
+    public void startBulkSync(BulkSyncStream stream) {
+        if (bulkStream == null) {
+            bulkStream = stream;
+        } else {
+            bulkStream.merge(stream);
+        }
+    }
+
+    /**
+     * Wait for the client's cache summary until the given game time before falling back to a full sync
+     */
+    public void awaitCacheSummary(long deadline) {
+        cacheSummaryDeadline = deadline;
+    }
+
+    /**
+     * Stop waiting for the cache summary; true when the session was waiting
+     */
+    public boolean stopAwaitingCacheSummary() {
+        boolean waiting = cacheSummaryDeadline >= 0;
+        cacheSummaryDeadline = -1;
+        return waiting;
+    }
+
+    public boolean isCacheSummaryOverdue(long gameTime) {
+        return cacheSummaryDeadline >= 0 && gameTime > cacheSummaryDeadline;
+    }
+
+    /**
+     * Send this tick's frames of the running bulk sync, if any
+     */
+    public void tickBulkSync(ServerPlayer player, int frameSize, int maxFrames) {
+        if (bulkStream != null && bulkStream.sendFrames(player, palette, budget, frameSize, maxFrames)) {
+            bulkStream = null;
+        }
+    }
+
+    /**
+     * Drop the running bulk sync, if any, without sending its completion payload
+     */
+    public void cancelBulkSync() {
+        bulkStream = null;
+    }
+
+    public boolean isBulkSyncing() {
+        return bulkStream != null;
+    }
+
+    /**
+     * Remember ids a client asked for, keeping only ghasts it tracks; served once the rate limit allows
+     */
+    public void addVariantRequest(Collection<UUID> ghastIds) {
+        for (UUID ghastId : ghastIds) {
+            if (requestedVariants.size() >= MAX_REQUESTED_VARIANTS) {
+                break;
+            }
+            if (trackedGhasts.contains(ghastId)) {
+                requestedVariants.add(ghastId);
+            }
+        }
+    }
+
+    /**
+     * Requested ids waiting to be answered
+     */
+    public Set<UUID> requestedVariants() {
+        return requestedVariants;
+    }
+
+    /**
+     * Rate limit for client variant requests: true (and consumed) when the last one was long enough ago
+     * Allows half the client interval so normal jitter is not punished
+     */
+    public boolean allowVariantRequest(long gameTime, int intervalTicks) {
+        if (gameTime - lastVariantRequestTime < intervalTicks / 2) {
+            return false;
+        }
+        lastVariantRequestTime = gameTime;
+        return true;
+    }
+
+    /**
+     * The client asked for a full resync; repeated requests before it is served count once
+     */
+    public void requestFullResync() {
+        fullResyncRequested = true;
+    }
+
+    /**
+     * True (and consumed) when a full resync is requested and the last one was long enough ago
+     */
+    public boolean takeFullResync(long gameTime) {
+        if (!fullResyncRequested || gameTime - lastFullResyncTime < FULL_RESYNC_INTERVAL_TICKS) {
+            return false;
+        }
+        fullResyncRequested = false;
+        lastFullResyncTime = gameTime;
+        return true;
+    }
+
+    /**
+     * Rate limit for client digests, same rule as {@link #allowVariantRequest}
+     */
+    public boolean allowDigest(long gameTime, int intervalTicks) {
+        if (gameTime - lastDigestTime < intervalTicks / 2) {
+            return false;
+        }
+        lastDigestTime = gameTime;
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package com.zidiansyncs.ghasttopia.network;
+
+import com.zidiansyncs.ghasttopia.texture.HappyGhastTextureManager;
+import com.zidiansyncs.ghasttopia.texture.MushroomType;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.VarInt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Compact wire encoding shared by the texture sync packets
+ *
+ * Layout of one variant:
+ *   UUID        16 bytes (sent once)
+ *   flags        1 byte  (special names, mushroom state, locked, mushroom type ordinal)
+ *   biome       varint   (id in the per-connection {@link VariantPalette})
+ *   level       varint   (id in the per-connection {@link VariantPalette})
+ *
+ * Strings are defined once per connection by the packet's {@link VariantStringTable},
+ * so steady-state updates cost about 19 bytes per ghast. Decoding yields raw {@link Entry entries};
+ * their palette ids are resolved by the client handler once the packet's definitions are applied.
+ */
+public final class VariantWireFormat {
+
+    // Flag bits
+    private static final int FLAG_RPG_NAME = 1;
+    private static final int FLAG_EXCELSIES_NAME = 1 << 1;
+    private static final int FLAG_MUSHROOM = 1 << 2;
+    private static final int FLAG_LOCKED = 1 << 3;
+    private static final int MUSHROOM_TYPE_SHIFT = 4;
+    private static final int MUSHROOM_TYPE_MASK = 0b11;
+
+    /**
+     * One variant as read from the wire, with its strings still as palette ids
+     */
+    public record Entry(UUID ghastId, int flags, int biomeId, int levelId) {
+    }
+
+    private VariantWireFormat() {
+    }
+
+    /**
+     * Write one variant, referencing its strings through the packet's string table
+     */
+    public static void writeVariant(RegistryFriendlyByteBuf buf, VariantStringTable strings,
+                                    HappyGhastTextureManager.HappyGhastTextureVariant variant) {
+        buf.writeUUID(variant.ghastId);
+        buf.writeByte(packFlags(variant));
+        buf.writeVarInt(strings.idOf(variant.spawnBiome));
+        buf.writeVarInt(strings.idOf(variant.levelId));
+    }
+
+    /**
+     * Bytes written by {@link #writeVariant} for one variant
+     */
+    public static int encodedSize(VariantStringTable strings, HappyGhastTextureManager.HappyGhastTextureVariant variant) {
+        return 16 + 1 + VarInt.getByteSize(strings.idOf(variant.spawnBiome)) + VarInt.getByteSize(strings.idOf(variant.levelId));
+    }
+
+    /**
+     * Read one variant written by {@link #writeVariant}
+     */
+    public static Entry readEntry(RegistryFriendlyByteBuf buf) {
+        return new Entry(buf.readUUID(), buf.readUnsignedByte(), buf.readVarInt(), buf.readVarInt());
+    }
+
+    /**
+     * Resolve an entry's strings through the client palette; null when an id is unknown (palette out of step)
+     * The locked flag is kept, so the client never lets an unlocked entry replace a locked variant.
+     */
+    public static HappyGhastTextureManager.HappyGhastTextureVariant resolve(Entry entry) {
+        String spawnBiome = ClientVariantPalette.lookup(entry.biomeId());
+        String levelId = ClientVariantPalette.lookup(entry.levelId());
+        if (spawnBiome == null || levelId == null) {
+            return null;
+        }
+
+        int flags = entry.flags();
+        MushroomType mushroomType = MushroomType.byOrdinal((flags >> MUSHROOM_TYPE_SHIFT) & MUSHROOM_TYPE_MASK);
+        return new HappyGhastTextureManager.HappyGhastTextureVariant(
+            entry.ghastId(), spawnBiome,
+            (flags & FLAG_RPG_NAME) != 0,
+            (flags & FLAG_EXCELSIES_NAME) != 0,
+            (flags & FLAG_MUSHROOM) != 0,
+            mushroomType.getId(), levelId,
+            (flags & FLAG_LOCKED) != 0
+        );
+    }
+
+    private static int packFlags(HappyGhastTextureManager.HappyGhastTextureVariant variant) {
+        int flags = 0;
+        if (variant.hasRpgName) flags |= FLAG_RPG_NAME;
+        if (variant.hasExcelsiesName) flags |= FLAG_EXCELSIES_NAME;
+        if (variant.isMushroomVariant) flags |= FLAG_MUSHROOM;
+        if (variant.isLocked) flags |= FLAG_LOCKED;
+        flags |= MushroomType.fromId(variant.mushroomType).ordinal() << MUSHROOM_TYPE_SHIFT;
+        return flags;
+    }
+
+    /**
+     * Size in bytes of one variant in the previous wire layout (two longs for the UUID,
+     * UTF strings for the biome and mushroom type, four boolean bytes).
+     * Kept so the /ghasttopia net codec benchmark can compare against it.
+     */
+    public static int legacyVariantSize(HappyGhastTextureManager.HappyGhastTextureVariant variant) {
+        return 16 + utfSize(variant.spawnBiome) + utfSize(variant.mushroomType) + 4;
+    }
+
+    static int utfSize(String value) {
+        int length = value.getBytes(StandardCharsets.UTF_8).length;
+        return VarInt.getByteSize(length) + length;
+    }
+}
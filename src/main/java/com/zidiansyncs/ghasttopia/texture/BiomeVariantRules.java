@@ -0,0 +1,149 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.FileToIdConverter;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimpleJsonResourceReloadListener;
+import net.minecraft.tags.TagKey;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraft.world.level.biome.Biome;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Datapack rules that decide which texture variant a biome gives a Happy Ghast (SERVER-SIDE ONLY)
+ *
+ * Rules live in {@code data/<namespace>/ghasttopia/variant_rules/*.json}:
+ * <pre>
+ * { "variant": "forest", "biomes": ["minecraft:forest", "#c:is_birch_forest"], "priority": 0 }
+ * </pre>
+ * Entries starting with {@code #} are biome tags. Rules are applied in ascending priority (then file id), tags
+ * before plain ids within a rule, and later matches win. Once tags are bound after a datapack (re)load, the rules
+ * are compiled into an array indexed by biome registry id, so classifying a biome is a single array read.
+ */
+public final class BiomeVariantRules {
+
+    /**
+     * One rule file
+     */
+    public record Rule(GhastVariant variant, List<String> biomes, int priority) {
+        public static final Codec<Rule> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            GhastVariant.CODEC.fieldOf("variant").forGetter(Rule::variant),
+            Codec.STRING.listOf().fieldOf("biomes").forGetter(Rule::biomes),
+            Codec.INT.optionalFieldOf("priority", 0).forGetter(Rule::priority)
+        ).apply(instance, Rule::new));
+    }
+
+    public static final ResourceLocation LISTENER_ID = ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "variant_rules");
+
+    // Parsed rule files, sorted, waiting for the tags to be bound
+    private static volatile List<Map.Entry<ResourceLocation, Rule>> rules = List.of();
+
+    // Compiled lookup: variant by biome registry id, null where no rule matched
+    private static volatile Registry<Biome> biomeRegistry;
+    private static volatile GhastVariant[] variantsById = new GhastVariant[0];
+
+    private BiomeVariantRules() {
+    }
+
+    /**
+     * Reload listener that reads the rule files; compilation waits for {@link #compile}
+     */
+    public static final class ReloadListener extends SimpleJsonResourceReloadListener<Rule> {
+        public ReloadListener() {
+            super(Rule.CODEC, FileToIdConverter.json("ghasttopia/variant_rules"));
+        }
+
+        @Override
+        protected void apply(Map<ResourceLocation, Rule> loaded, ResourceManager resourceManager, ProfilerFiller profiler) {
+            List<Map.Entry<ResourceLocation, Rule>> sorted = new ArrayList<>(loaded.entrySet());
+            sorted.sort(Comparator.<Map.Entry<ResourceLocation, Rule>>comparingInt(entry -> entry.getValue().priority())
+                .thenComparing(Map.Entry::getKey));
+            rules = List.copyOf(sorted);
+            GhastTopia.LOGGER.info("Loaded {} Happy Ghast variant rules", sorted.size());
+        }
+    }
+
+    /**
+     * Build the registry-id table from the loaded rules; call once biome tags are bound
+     */
+    public static void compile(Registry<Biome> registry) {
+        GhastVariant[] table = new GhastVariant[registry.size()];
+        int matched = 0;
+        for (Map.Entry<ResourceLocation, Rule> entry : rules) {
+            Rule rule = entry.getValue();
+            for (String biome : rule.biomes()) {
+                if (biome.startsWith("#")) {
+                    TagKey<Biome> tag = TagKey.create(Registries.BIOME, ResourceLocation.parse(biome.substring(1)));
+                    for (Holder<Biome> holder : registry.getTagOrEmpty(tag)) {
+                        matched += assign(table, registry, holder.value(), rule.variant());
+                    }
+                }
+            }
+            for (String biome : rule.biomes()) {
+                if (!biome.startsWith("#")) {
+                    Biome value = registry.getValue(ResourceLocation.parse(biome));
+                    if (value != null) {
+                        matched += assign(table, registry, value, rule.variant());
+                    }
+                }
+            }
+        }
+        biomeRegistry = registry;
+        variantsById = table;
+        GhastTopia.LOGGER.info("Compiled Happy Ghast variant rules: {} of {} biomes have a variant", matched, table.length);
+    }
+
+    private static int assign(GhastVariant[] table, Registry<Biome> registry, Biome biome, GhastVariant variant) {
+        int id = registry.getId(biome);
+        if (id < 0 || id >= table.length) {
+            return 0;
+        }
+        boolean isNew = table[id] == null;
+        table[id] = variant;
+        return isNew ? 1 : 0;
+    }
+
+    /**
+     * Variant for a biome, or null when no rule matches it
+     */
+    public static GhastVariant classify(Holder<Biome> biome) {
+        Registry<Biome> registry = biomeRegistry;
+        if (registry == null) {
+            return null;
+        }
+        int id = registry.getId(biome.value());
+        GhastVariant[] table = variantsById;
+        return id >= 0 && id < table.length ? table[id] : null;
+    }
+
+    /**
+     * Map a stored spawn biome to its variant's canonical key
+     * Variants saved before the rules existed hold the raw biome id (e.g. "minecraft:birch_forest"); those are run
+     * through the rules once on load. Keys that already name a variant, and unknown biomes, are kept as they are.
+     */
+    public static String normalizeKey(String spawnBiome) {
+        Registry<Biome> registry = biomeRegistry;
+        if (GhastVariant.byKey(spawnBiome) != null || registry == null) {
+            return spawnBiome;
+        }
+        ResourceLocation id = ResourceLocation.tryParse(spawnBiome);
+        Biome biome = id != null ? registry.getValue(id) : null;
+        if (biome == null) {
+            return spawnBiome;
+        }
+        int rawId = registry.getId(biome);
+        GhastVariant[] table = variantsById;
+        GhastVariant variant = rawId >= 0 && rawId < table.length ? table[rawId] : null;
+        return variant != null ? variant.getKey() : GhastVariant.DEFAULT.getKey();
+    }
+}
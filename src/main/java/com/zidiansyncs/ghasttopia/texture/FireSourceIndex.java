@@ -0,0 +1,164 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-level index of burning fire blocks, bucketed by chunk section (SERVER-SIDE ONLY)
+ *
+ * Kept current from block change notifications (see ServerLevelMixin) and chunk load/unload events; chunk loads
+ * only scan sections whose block palette may contain fire. "Is there fire near this ghast" then reads the few
+ * fire positions in the sections around it instead of testing every block of a 17x17x17 cube.
+ */
+public final class FireSourceIndex {
+
+    private static final Map<ResourceKey<Level>, Long2ObjectMap<LongSet>> levels = new HashMap<>();
+
+    private FireSourceIndex() {
+    }
+
+    /**
+     * Record a block change; only transitions to or from fire touch the index
+     */
+    public static void onBlockChanged(ServerLevel level, BlockPos pos, BlockState oldState, BlockState newState) {
+        boolean wasFire = oldState.is(Blocks.FIRE);
+        boolean isFire = newState.is(Blocks.FIRE);
+        if (wasFire == isFire) {
+            return;
+        }
+        Long2ObjectMap<LongSet> sections = levels.computeIfAbsent(level.dimension(), dimension -> new Long2ObjectOpenHashMap<>());
+        long sectionKey = SectionPos.asLong(pos);
+        if (isFire) {
+            sections.computeIfAbsent(sectionKey, key -> new LongOpenHashSet()).add(pos.asLong());
+        } else {
+            LongSet fires = sections.get(sectionKey);
+            if (fires != null && fires.remove(pos.asLong()) && fires.isEmpty()) {
+                sections.remove(sectionKey);
+            }
+        }
+    }
+
+    /**
+     * Index the fire blocks of a chunk that was loaded
+     */
+    public static void onChunkLoad(ServerLevel level, LevelChunk chunk) {
+        Long2ObjectMap<LongSet> sections = null;
+        ChunkPos chunkPos = chunk.getPos();
+        LevelChunkSection[] chunkSections = chunk.getSections();
+        for (int index = 0; index < chunkSections.length; index++) {
+            LevelChunkSection section = chunkSections[index];
+            if (section.hasOnlyAir() || !section.maybeHas(state -> state.is(Blocks.FIRE))) {
+                continue;
+            }
+            int sectionY = chunk.getSectionYFromSectionIndex(index);
+            LongSet fires = new LongOpenHashSet();
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (section.getBlockState(x, y, z).is(Blocks.FIRE)) {
+                            fires.add(BlockPos.asLong(chunkPos.getBlockX(x), SectionPos.sectionToBlockCoord(sectionY, y), chunkPos.getBlockZ(z)));
+                        }
+                    }
+                }
+            }
+            if (!fires.isEmpty()) {
+                if (sections == null) {
+                    sections = levels.computeIfAbsent(level.dimension(), dimension -> new Long2ObjectOpenHashMap<>());
+                }
+                sections.put(SectionPos.asLong(chunkPos.x, sectionY, chunkPos.z), fires);
+            }
+        }
+    }
+
+    /**
+     * Forget the fire blocks of a chunk that was unloaded
+     */
+    public static void onChunkUnload(ServerLevel level, LevelChunk chunk) {
+        Long2ObjectMap<LongSet> sections = levels.get(level.dimension());
+        if (sections == null || sections.isEmpty()) {
+            return;
+        }
+        ChunkPos chunkPos = chunk.getPos();
+        for (int sectionY = chunk.getMinSectionY(); sectionY <= chunk.getMaxSectionY(); sectionY++) {
+            sections.remove(SectionPos.asLong(chunkPos.x, sectionY, chunkPos.z));
+        }
+    }
+
+    /**
+     * True if a fire block burns within {@code radius} of {@code center}
+     */
+    public static boolean isFireNear(ServerLevel level, BlockPos center, double radius) {
+        Long2ObjectMap<LongSet> sections = levels.get(level.dimension());
+        if (sections == null || sections.isEmpty()) {
+            return false;
+        }
+
+        int r = (int) Math.ceil(radius);
+        double radiusSq = radius * radius;
+        int minX = SectionPos.blockToSectionCoord(center.getX() - r), maxX = SectionPos.blockToSectionCoord(center.getX() + r);
+        int minY = SectionPos.blockToSectionCoord(center.getY() - r), maxY = SectionPos.blockToSectionCoord(center.getY() + r);
+        int minZ = SectionPos.blockToSectionCoord(center.getZ() - r), maxZ = SectionPos.blockToSectionCoord(center.getZ() + r);
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    LongSet fires = sections.get(SectionPos.asLong(x, y, z));
+                    if (fires == null) {
+                        continue;
+                    }
+                    for (LongIterator iterator = fires.iterator(); iterator.hasNext(); ) {
+                        long fire = iterator.nextLong();
+                        int dx = BlockPos.getX(fire) - center.getX();
+                        int dy = BlockPos.getY(fire) - center.getY();
+                        int dz = BlockPos.getZ(fire) - center.getZ();
+                        if (dx * dx + dy * dy + dz * dz <= radiusSq) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of indexed fire blocks in a level
+     */
+    public static int size(ServerLevel level) {
+        Long2ObjectMap<LongSet> sections = levels.get(level.dimension());
+        if (sections == null) {
+            return 0;
+        }
+        int count = 0;
+        for (LongSet fires : sections.values()) {
+            count += fires.size();
+        }
+        return count;
+    }
+
+    /**
+     * Forget a level's index when it unloads
+     */
+    public static void clearLevel(ServerLevel level) {
+        levels.remove(level.dimension());
+    }
+
+    public static void clearAll() {
+        levels.clear();
+    }
+}
@@ -0,0 +1,205 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.animal.HappyGhast;
+import net.minecraft.world.level.ChunkPos;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Where each Happy Ghast lives: level, chunk and whether it is loaded (SERVER THREAD ONLY)
+ *
+ * Kept up to date from entity join, leave and section-change events and saved with the texture variant store, so
+ * finding a ghast is a single map lookup instead of probing {@code getEntity} on every level, and ghasts sitting in
+ * unloaded chunks are still known after a restart. Changes are written with the next world save. Ghasts leave the
+ * index when they are killed or discarded, or when their variant expires (see {@link VariantLiveness}).
+ */
+public final class GhastResidencyIndex {
+
+    public enum State {
+        LOADED,    // In a loaded chunk right now
+        UNLOADED,  // Saved with its chunk, or with the player riding it
+        ABSENT     // Left its level without being saved, e.g. mid dimension change
+    }
+
+    /**
+     * Last known location of a ghast
+     */
+    public record Residency(String levelId, long chunkPos, State state) {
+        public ChunkPos chunk() {
+            return new ChunkPos(chunkPos);
+        }
+
+        /**
+         * False for entries seeded from a store saved before the index existed, whose chunk is not known
+         */
+        public boolean hasChunk() {
+            return chunkPos != ChunkPos.INVALID_CHUNK_POS;
+        }
+    }
+
+    private static final Map<UUID, Residency> residencies = new HashMap<>();
+
+    // Changed since the last save
+    private static boolean dirty;
+
+    private GhastResidencyIndex() {
+    }
+
+    /**
+     * A ghast joined a server level
+     */
+    public static void onJoin(HappyGhast ghast, ServerLevel level) {
+        residencies.put(ghast.getUUID(), new Residency(levelId(level), ghast.chunkPosition().toLong(), State.LOADED));
+        dirty = true;
+    }
+
+    /**
+     * A ghast left a server level
+     *
+     * @return the ghast's residency afterwards, or null when it was removed for good
+     */
+    public static Residency onLeave(HappyGhast ghast, ServerLevel level, Entity.RemovalReason reason) {
+        UUID ghastId = ghast.getUUID();
+        Residency current = residencies.get(ghastId);
+        String levelId = levelId(level);
+        if (current != null && current.state() == State.LOADED && !levelId.equals(current.levelId())) {
+            // Already joined its destination level (dimension change adds the copy before removing the original)
+            return current;
+        }
+        if (reason != null && reason.shouldDestroy()) {
+            residencies.remove(ghastId);
+            dirty = true;
+            return null;
+        }
+
+        // Unloaded with its chunk or with the player riding it (saved in their data); a dimension change is not saved
+        State state = reason != null && reason != Entity.RemovalReason.CHANGED_DIMENSION ? State.UNLOADED : State.ABSENT;
+        Residency residency = new Residency(levelId, ghast.chunkPosition().toLong(), state);
+        residencies.put(ghastId, residency);
+        dirty = true;
+        return residency;
+    }
+
+    /**
+     * A loaded ghast moved into another section; only chunk changes are recorded
+     */
+    public static void onSectionChange(HappyGhast ghast, SectionPos newSection) {
+        Residency current = residencies.get(ghast.getUUID());
+        long chunkPos = ChunkPos.asLong(newSection.x(), newSection.z());
+        if (current != null && current.state() == State.LOADED && current.chunkPos() != chunkPos) {
+            residencies.put(ghast.getUUID(), new Residency(current.levelId(), chunkPos, State.LOADED));
+            dirty = true;
+        }
+    }
+
+    public static Residency get(UUID ghastId) {
+        return residencies.get(ghastId);
+    }
+
+    public static void remove(UUID ghastId) {
+        if (residencies.remove(ghastId) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Whether the index changed since the last call
+     */
+    public static boolean consumeDirty() {
+        boolean wasDirty = dirty;
+        dirty = false;
+        return wasDirty;
+    }
+
+    /**
+     * Squared distance from {@code pos} to the center of the ghast's chunk, or {@link Double#MAX_VALUE} when the
+     * ghast is not known to be in {@code level}
+     */
+    public static double distanceSqr(UUID ghastId, ServerLevel level, BlockPos pos) {
+        Residency residency = residencies.get(ghastId);
+        if (residency == null || !residency.hasChunk() || !residency.levelId().equals(levelId(level))) {
+            return Double.MAX_VALUE;
+        }
+        ChunkPos chunk = residency.chunk();
+        double dx = chunk.getMiddleBlockX() - pos.getX();
+        double dz = chunk.getMiddleBlockZ() - pos.getZ();
+        return dx * dx + dz * dz;
+    }
+
+    public static int count(State state) {
+        int count = 0;
+        for (Residency residency : residencies.values()) {
+            if (residency.state() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static int size() {
+        return residencies.size();
+    }
+
+    /**
+     * Save the index; loaded ghasts are written as unloaded, since they are saved with their chunks
+     */
+    public static ListTag toNBT() {
+        ListTag list = new ListTag();
+        for (Map.Entry<UUID, Residency> entry : residencies.entrySet()) {
+            Residency residency = entry.getValue();
+            State state = residency.state() == State.LOADED ? State.UNLOADED : residency.state();
+            CompoundTag tag = new CompoundTag();
+            tag.putString("GhastId", entry.getKey().toString());
+            tag.putString("LevelId", residency.levelId());
+            tag.putLong("Chunk", residency.chunkPos());
+            tag.putString("State", state.name());
+            list.add(tag);
+        }
+        return list;
+    }
+
+    /**
+     * Restore a saved index; entries of ghasts that already joined a level are kept
+     */
+    public static void loadFromNBT(ListTag list) {
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag tag = list.getCompound(i).orElse(new CompoundTag());
+            try {
+                UUID ghastId = UUID.fromString(tag.getString("GhastId").orElse(""));
+                State state = State.valueOf(tag.getString("State").orElse(State.UNLOADED.name()));
+                residencies.putIfAbsent(ghastId, new Residency(tag.getString("LevelId").orElse("minecraft:overworld"),
+                    tag.getLong("Chunk").orElse(ChunkPos.INVALID_CHUNK_POS), state));
+            } catch (IllegalArgumentException e) {
+                GhastTopia.LOGGER.warn("Skipping invalid residency entry: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Record a ghast from a store saved before the index existed as unloaded in its variant's level, chunk unknown
+     * Those ghasts were saved somewhere, so they must not become orphan candidates after the upgrade.
+     */
+    public static void seedUnloaded(UUID ghastId, String levelId) {
+        if (residencies.putIfAbsent(ghastId, new Residency(levelId, ChunkPos.INVALID_CHUNK_POS, State.UNLOADED)) == null) {
+            dirty = true;
+        }
+    }
+
+    public static void clear() {
+        residencies.clear();
+        dirty = false;
+    }
+
+    private static String levelId(ServerLevel level) {
+        return level.dimension().location().toString();
+    }
+}
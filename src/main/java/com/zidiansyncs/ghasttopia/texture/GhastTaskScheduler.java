@@ -0,0 +1,140 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import com.zidiansyncs.ghasttopia.util.TimingWheel;
+import com.zidiansyncs.ghasttopia.util.mixin.ILightningTransformable;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.entity.animal.HappyGhast;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Periodic per-ghast work on a central timing wheel (SERVER-SIDE ONLY)
+ *
+ * A ghast registers its periodic tasks when it joins a level. Each task's first run is offset by a phase derived
+ * from the ghast's UUID, so ghasts spawned together are spread over the whole period instead of all firing on the
+ * same {@code tickCount % N} tick, and no ghast pays a modulo check per tick. When a ghast leaves its level (unload,
+ * death, dimension change) its tasks are cancelled and the scheduler lets go of the entity; it registers again when
+ * it rejoins. The wheel only holds ghast ids, so cancelled entries waiting for their slot keep no entity alive.
+ */
+public final class GhastTaskScheduler {
+
+    /**
+     * Periodic tasks a ghast can run
+     */
+    public enum Task {
+        // Debug status line for red mushroom ghasts waiting for lightning (every 30 seconds)
+        MUSHROOM_STATUS(600, ghast -> {
+            if (((ILightningTransformable) ghast).ehg$isTransformable()) {
+                GhastTopia.LOGGER.debug("Red mushroom {} ghast {} ready for lightning transformation",
+                    ghast.isBaby() ? "baby" : "adult", ghast.getUUID());
+            }
+        });
+
+        private final int period;
+        private final Consumer<HappyGhast> action;
+
+        Task(int period, Consumer<HappyGhast> action) {
+            this.period = period;
+            this.action = action;
+        }
+
+        public int getPeriod() {
+            return period;
+        }
+    }
+
+    private record Scheduled(UUID ghastId, Task task) {
+    }
+
+    /**
+     * A registered ghast and its pending task timeouts, indexed by task ordinal
+     */
+    private record Registration(HappyGhast ghast, List<TimingWheel.Timeout<Scheduled>> timeouts) {
+    }
+
+    // 1024 slots: every task period fits in one turn of the wheel
+    private static final TimingWheel<Scheduled> wheel = new TimingWheel<>(1024);
+
+    private static final Map<UUID, Registration> registrations = new HashMap<>();
+
+    private static long currentTick;
+
+    private GhastTaskScheduler() {
+    }
+
+    /**
+     * Register all periodic tasks of a ghast that joined a server level
+     */
+    public static void register(HappyGhast ghast) {
+        UUID ghastId = ghast.getUUID();
+        cancel(registrations.remove(ghastId));
+
+        Registration registration = new Registration(ghast, new ArrayList<>());
+        for (Task task : Task.values()) {
+            int phase = Math.floorMod(ghastId.hashCode() * 31 + task.ordinal(), task.period);
+            registration.timeouts().add(wheel.schedule(currentTick + 1 + phase, new Scheduled(ghastId, task)));
+        }
+        registrations.put(ghastId, registration);
+    }
+
+    /**
+     * Cancel the tasks of a ghast that left a server level
+     * A dimension change adds the ghast's copy before removing the original, so only the original's tasks go.
+     */
+    public static void unregister(HappyGhast ghast) {
+        Registration registration = registrations.get(ghast.getUUID());
+        if (registration != null && registration.ghast() == ghast) {
+            registrations.remove(ghast.getUUID());
+            cancel(registration);
+        }
+    }
+
+    private static void cancel(Registration registration) {
+        if (registration != null) {
+            for (TimingWheel.Timeout<Scheduled> timeout : registration.timeouts()) {
+                timeout.cancel();
+            }
+        }
+    }
+
+    /**
+     * Run the tasks due this tick and reschedule them one period later
+     */
+    public static void tick(MinecraftServer server) {
+        currentTick = server.getTickCount();
+        wheel.advance(currentTick, scheduled -> {
+            Registration registration = registrations.get(scheduled.ghastId());
+            if (registration == null) {
+                return;
+            }
+            HappyGhast ghast = registration.ghast();
+            if (ghast.isRemoved()) {
+                unregister(ghast);
+                return;
+            }
+            scheduled.task().action.accept(ghast);
+            registration.timeouts().set(scheduled.task().ordinal(),
+                wheel.schedule(currentTick + scheduled.task().period, scheduled));
+        });
+    }
+
+    public static TimingWheel<?> getWheel() {
+        return wheel;
+    }
+
+    public static long getCurrentTick() {
+        return currentTick;
+    }
+
+    public static void clear() {
+        wheel.clear();
+        registrations.clear();
+        currentTick = 0;
+    }
+}
@@ -0,0 +1,89 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+import com.mojang.serialization.Codec;
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.StringRepresentable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Biome texture variants a Happy Ghast can be classified into
+ *
+ * Each variant has a canonical biome key, which is what gets stored in a texture variant's spawn biome and sent to
+ * clients: clients never see the datapack rules, so whatever biome (vanilla or modded) a rule matched, the stored
+ * key is enough to pick the texture.
+ */
+public enum GhastVariant implements StringRepresentable {
+    DEFAULT("default", "minecraft:plains", "happy_ghast"),
+    DESERT("desert", "minecraft:desert", "desert_ghast"),
+    FOREST("forest", "minecraft:forest", "forest_ghast"),
+    DARK_OAK("dark_oak", "minecraft:dark_forest", "darkoak_ghast"),
+    OCEAN("ocean", "minecraft:ocean", "ocean_ghast"),
+    CORAL("coral", "minecraft:warm_ocean", "coral_ghast"),
+    TAIGA("taiga", "minecraft:taiga", "taiga_ghast"),
+    SWAMP("swamp", "minecraft:swamp", "swamp_ghast"),
+    JUNGLE("jungle", "minecraft:jungle", "jungle_ghast"),
+    SAVANNA("savanna", "minecraft:savanna", "savanna_ghast"),
+    BADLANDS("badlands", "minecraft:badlands", "badlands_ghast"),
+    ICE("ice", "minecraft:snowy_plains", "ice_ghast"),
+    CHERRY("cherry", "minecraft:cherry_grove", "cherry_ghast"),
+    LUSH("lush", "minecraft:lush_caves", "lush_ghast"),
+    MUSHROOM("mushroom", "minecraft:mushroom_fields", "red_mushroom_ghast"),
+    PALE("pale", "minecraft:pale_garden", "pale_ghast"),
+    DEEP_DARK("deep_dark", "minecraft:deep_dark", "deepdark_ghast"),
+    END("end", "minecraft:the_end", "end_ghast");
+
+    public static final Codec<GhastVariant> CODEC = StringRepresentable.fromEnum(GhastVariant::values);
+
+    private static final Map<String, GhastVariant> BY_KEY = new HashMap<>();
+    private static final Map<String, GhastVariant> BY_NAME = new HashMap<>();
+
+    static {
+        for (GhastVariant variant : values()) {
+            BY_KEY.put(variant.key, variant);
+            BY_NAME.put(variant.name, variant);
+        }
+    }
+
+    private final String name;
+    private final String key;
+    private final ResourceLocation texture;
+
+    GhastVariant(String name, String key, String textureName) {
+        this.name = name;
+        this.key = key;
+        this.texture = ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "textures/entity/ghast/" + textureName + ".png");
+    }
+
+    @Override
+    public String getSerializedName() {
+        return name;
+    }
+
+    /**
+     * Canonical biome id stored as the spawn biome of ghasts of this variant
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public ResourceLocation getTexture() {
+        return texture;
+    }
+
+    /**
+     * Variant whose canonical key is {@code key}, or null for any other biome id
+     */
+    public static GhastVariant byKey(String key) {
+        return BY_KEY.get(key);
+    }
+
+    /**
+     * Variant with the serialized name {@code name} (e.g. "forest"), or null
+     */
+    public static GhastVariant byName(String name) {
+        return BY_NAME.get(name);
+    }
+}
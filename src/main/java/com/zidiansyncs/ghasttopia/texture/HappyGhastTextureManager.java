@@ -1,11 +1,14 @@
 package com.zidiansyncs.ghasttopia.texture;
 
+import com.zidiansyncs.ghasttopia.GhastTopia;
 import com.zidiansyncs.ghasttopia.network.NetworkHandler;
 
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.animal.HappyGhast;
 
 import java.util.*;
@@ -23,9 +26,15 @@ public class HappyGhastTextureManager {
     // Server-side texture variant data storage
     private static final Map<UUID, HappyGhastTextureVariant> activeTextureVariants = new ConcurrentHashMap<>();
 
+    // Server-side ghasts by effective variant, kept next to the store for lookups by variant
+    private static final Map<String, Set<UUID>> ghastsByVariant = new ConcurrentHashMap<>();
+
     // Client-side texture variant data for rendering
     private static final Map<UUID, HappyGhastTextureVariant> clientTextureVariants = new ConcurrentHashMap<>();
 
+    // Change journal of the server-side store, used to send returning clients only what changed
+    private static final VariantStoreJournal journal = new VariantStoreJournal();
+
     /**
      * Represents a persistent texture variant for a Happy Ghast entity
      */
@@ -40,10 +49,20 @@ public class HappyGhastTextureManager {
         public final String levelId;
         public final boolean isLocked; // Once locked, variant never changes
 
+        // Resolved texture, computed once (client sync resolves it on the network thread)
+        private volatile ResourceLocation texture;
+
         // Constructor for new texture variants
         public HappyGhastTextureVariant(UUID ghastId, String spawnBiome, boolean hasRpgName,
                                       boolean hasExcelsiesName, boolean isMushroomVariant,
                                       String mushroomType, String levelId) {
+            this(ghastId, spawnBiome, hasRpgName, hasExcelsiesName, isMushroomVariant, mushroomType, levelId, true);
+        }
+
+        // Constructor for variants decoded from a sync packet, which carry the server's lock state
+        public HappyGhastTextureVariant(UUID ghastId, String spawnBiome, boolean hasRpgName,
+                                      boolean hasExcelsiesName, boolean isMushroomVariant,
+                                      String mushroomType, String levelId, boolean isLocked) {
             this.ghastId = ghastId;
             this.spawnBiome = spawnBiome != null ? spawnBiome : "minecraft:plains";
             this.hasRpgName = hasRpgName;
@@ -52,7 +71,7 @@ public class HappyGhastTextureManager {
             this.mushroomType = mushroomType != null ? mushroomType : "red";
             this.createdTime = System.currentTimeMillis();
             this.levelId = levelId;
-            this.isLocked = true; // Always lock variants when created
+            this.isLocked = isLocked; // New variants are always locked
         }
 
         // NBT constructor for loading from saved data
@@ -62,7 +81,7 @@ public class HappyGhastTextureManager {
             this.ghastId = ghastIdStr.isEmpty() ? UUID.randomUUID() : UUID.fromString(ghastIdStr);
 
             String loadedBiome = nbt.getString("SpawnBiome").orElse("minecraft:plains");
-            this.spawnBiome = loadedBiome.isEmpty() ? "minecraft:plains" : loadedBiome;
+            this.spawnBiome = loadedBiome.isEmpty() ? "minecraft:plains" : BiomeVariantRules.normalizeKey(loadedBiome);
 
             this.hasRpgName = nbt.getBoolean("HasRpgName").orElse(false);
             this.hasExcelsiesName = nbt.getBoolean("HasExcelsiesName").orElse(false);
@@ -115,6 +134,27 @@ public class HappyGhastTextureManager {
             }
             return spawnBiome;
         }
+
+        /**
+         * Texture for this variant, resolved on first use
+         */
+        public ResourceLocation getTexture() {
+            ResourceLocation resolved = texture;
+            if (resolved == null) {
+                resolved = HappyGhastTextures.resolve(this);
+                texture = resolved;
+            }
+            return resolved;
+        }
+
+        /**
+         * Hash of everything that is replicated to clients (not the creation time)
+         * Equal on server and client when both hold the same state, used by the sync digest
+         */
+        public int contentHash() {
+            int flags = (hasRpgName ? 1 : 0) | (hasExcelsiesName ? 2 : 0) | (isMushroomVariant ? 4 : 0) | (isLocked ? 8 : 0);
+            return Objects.hash(ghastId, spawnBiome, flags, mushroomType, levelId);
+        }
     }
     
     /**
@@ -158,10 +198,11 @@ public class HappyGhastTextureManager {
         HappyGhastTextureVariant variant = new HappyGhastTextureVariant(
             ghastId, spawnBiome, hasRpgName, hasExcelsiesName, isMushroomVariant, mushroomType, levelId);
 
-        activeTextureVariants.put(ghastId, variant);
+        storeVariant(ghastId, variant);
+        recordJournalChange(ghastId);
 
-        // Sync to all clients for rendering (SERVER-SIDE)
-        syncToAllClients(ghastId, variant);
+        // Sync to clients for rendering (SERVER-SIDE)
+        syncToClients(ghast, ghastId, variant);
 
         // Mark world data as dirty for persistence
         if (ghast.level() instanceof ServerLevel serverLevel) {
@@ -189,8 +230,9 @@ public class HappyGhastTextureManager {
                 ghastId, existing.spawnBiome, hasRpgName, hasExcelsiesName,
                 existing.isMushroomVariant, existing.mushroomType, existing.levelId);
             
-            activeTextureVariants.put(ghastId, updated);
-            syncToAllClients(ghastId, updated);
+            storeVariant(ghastId, updated);
+            recordJournalChange(ghastId);
+            syncToClients(level.getEntity(ghastId), ghastId, updated);
             
             // Mark world data as dirty for persistence
             HappyGhastTextureWorldData.onTextureVariantUpdated(level);
@@ -200,6 +242,27 @@ public class HappyGhastTextureManager {
         }
     }
 
+    /**
+     * Move an existing texture variant to the level its ghast is travelling to
+     * Only the level changes; nothing is sent here, the variant is handed off when the ghast joins the level
+     */
+    public static void rehomeTextureVariant(UUID ghastId, String destinationLevelId, ServerLevel level) {
+        HappyGhastTextureVariant existing = activeTextureVariants.get(ghastId);
+        if (existing == null || destinationLevelId.equals(existing.levelId)) {
+            return;
+        }
+
+        HappyGhastTextureVariant rehomed = new HappyGhastTextureVariant(
+            ghastId, existing.spawnBiome, existing.hasRpgName, existing.hasExcelsiesName,
+            existing.isMushroomVariant, existing.mushroomType, destinationLevelId);
+
+        storeVariant(ghastId, rehomed);
+        recordJournalChange(ghastId);
+
+        // Mark world data as dirty for persistence
+        HappyGhastTextureWorldData.onTextureVariantUpdated(level);
+    }
+
     /**
      * Update mushroom transformation for an existing texture variant
      * This preserves all existing data (biome, names) while updating mushroom type
@@ -220,8 +283,9 @@ public class HappyGhastTextureManager {
                 ghastId, existing.spawnBiome, existing.hasRpgName, existing.hasExcelsiesName,
                 existing.isMushroomVariant, newMushroomType, existing.levelId);
 
-            activeTextureVariants.put(ghastId, updated);
-            syncToAllClients(ghastId, updated);
+            storeVariant(ghastId, updated);
+            recordJournalChange(ghastId);
+            syncToClients(level.getEntity(ghastId), ghastId, updated);
 
             // Mark world data as dirty for persistence
             HappyGhastTextureWorldData.onTextureVariantUpdated(level);
@@ -330,10 +394,13 @@ public class HappyGhastTextureManager {
      * Remove texture variant for a Happy Ghast entity
      */
     public static void removeTextureVariant(UUID ghastId) {
-        HappyGhastTextureVariant removed = activeTextureVariants.remove(ghastId);
+        HappyGhastTextureVariant removed = unstoreVariant(ghastId);
         if (removed != null) {
+            recordJournalRemoval(ghastId);
+            NetworkHandler.sendVariantRemoved(ghastId);
             // Remove from client side too
             clientTextureVariants.remove(ghastId);
+            VariantLiveness.forget(ghastId);
             System.out.println("HappyHaulers: Removed texture variant for ghast: " + ghastId);
         }
     }
@@ -342,10 +409,13 @@ public class HappyGhastTextureManager {
      * Remove texture variant with world data persistence
      */
     public static void removeTextureVariant(UUID ghastId, ServerLevel level) {
-        HappyGhastTextureVariant removed = activeTextureVariants.remove(ghastId);
+        HappyGhastTextureVariant removed = unstoreVariant(ghastId);
         if (removed != null) {
+            recordJournalRemoval(ghastId);
+            NetworkHandler.sendVariantRemoved(ghastId);
             // Remove from client side too
             clientTextureVariants.remove(ghastId);
+            VariantLiveness.forget(ghastId);
 
             // Mark world data as dirty for persistence
             HappyGhastTextureWorldData.onTextureVariantRemoved(level);
@@ -355,58 +425,39 @@ public class HappyGhastTextureManager {
     }
     
     /**
-     * Get all active texture variants
+     * Ghasts whose effective variant is {@code effectiveVariant} (SERVER-SIDE ONLY)
      */
-    public static Collection<HappyGhastTextureVariant> getAllTextureVariants() {
-        return new ArrayList<>(activeTextureVariants.values());
+    public static Set<UUID> getGhastsWithVariant(String effectiveVariant) {
+        Set<UUID> ghastIds = ghastsByVariant.get(effectiveVariant);
+        return ghastIds != null ? Collections.unmodifiableSet(ghastIds) : Set.of();
     }
-    
-    /**
-     * Clean up invalid texture variants (ghasts that no longer exist)
-     * VERY CONSERVATIVE: Only removes variants after 30 minutes of absence
-     */
-    public static void cleanupInvalidVariants(ServerLevel level) {
-        Iterator<Map.Entry<UUID, HappyGhastTextureVariant>> iterator = activeTextureVariants.entrySet().iterator();
 
-        while (iterator.hasNext()) {
-            Map.Entry<UUID, HappyGhastTextureVariant> entry = iterator.next();
-            UUID ghastId = entry.getKey();
-            HappyGhastTextureVariant variant = entry.getValue();
+    private static void storeVariant(UUID ghastId, HappyGhastTextureVariant variant) {
+        unindexVariant(ghastId, activeTextureVariants.put(ghastId, variant));
+        ghastsByVariant.computeIfAbsent(variant.getEffectiveVariant(), key -> ConcurrentHashMap.newKeySet()).add(ghastId);
+    }
 
-            // CONSERVATIVE: Check if entity still exists across ALL dimensions
-            boolean entityFound = false;
-            try {
-                // Check current level first
-                var entity = level.getEntity(ghastId);
-                if (entity != null && entity.isAlive() && !entity.isRemoved()) {
-                    entityFound = true;
-                } else {
-                    // Check all other dimensions too (entity might have traveled)
-                    for (ServerLevel serverLevel : level.getServer().getAllLevels()) {
-                        var entityInLevel = serverLevel.getEntity(ghastId);
-                        if (entityInLevel != null && entityInLevel.isAlive() && !entityInLevel.isRemoved()) {
-                            entityFound = true;
-                            break;
-                        }
-                    }
-                }
+    private static HappyGhastTextureVariant unstoreVariant(UUID ghastId) {
+        HappyGhastTextureVariant removed = activeTextureVariants.remove(ghastId);
+        unindexVariant(ghastId, removed);
+        return removed;
+    }
 
-                if (!entityFound) {
-                    // Entity not found in any dimension - remove variant after LONG delay
-                    long timeSinceCreation = System.currentTimeMillis() - variant.createdTime;
-                    if (timeSinceCreation > 1800000) { // 30 minutes (very conservative)
-                        System.out.println("HappyHaulers: Ghast " + ghastId + " missing for 30+ minutes across all dimensions - removing texture variant");
-                        iterator.remove();
-                        clientTextureVariants.remove(ghastId);
-                        HappyGhastTextureWorldData.onTextureVariantRemoved(level);
-                    } else {
-                        System.out.println("HappyHaulers: Ghast " + ghastId + " missing but within 30min grace period - preserving texture variant");
-                    }
-                }
-            } catch (Exception e) {
-                System.out.println("HappyHaulers: Error checking ghast " + ghastId + ": " + e.getMessage());
-            }
+    private static void unindexVariant(UUID ghastId, HappyGhastTextureVariant variant) {
+        if (variant == null) {
+            return;
         }
+        Set<UUID> ghastIds = ghastsByVariant.get(variant.getEffectiveVariant());
+        if (ghastIds != null) {
+            ghastIds.remove(ghastId);
+        }
+    }
+
+    /**
+     * Get all active texture variants
+     */
+    public static Collection<HappyGhastTextureVariant> getAllTextureVariants() {
+        return new ArrayList<>(activeTextureVariants.values());
     }
     
     /**
@@ -415,8 +466,6 @@ public class HappyGhastTextureManager {
      */
     public static void syncToClient(UUID ghastId, HappyGhastTextureVariant variant) {
         clientTextureVariants.put(ghastId, variant);
-        System.out.println("GhastTopia: CLIENT - Received texture sync for ghast " + ghastId +
-                         " -> " + variant.getEffectiveVariant());
     }
 
     /**
@@ -432,6 +481,16 @@ public class HappyGhastTextureManager {
         }
     }
 
+    /**
+     * Sync texture variant to clients using the configured sync mode (SERVER-SIDE ONLY)
+     * In TRACKING mode only players tracking the ghast receive it; a null ghast reaches nobody
+     */
+    public static void syncToClients(Entity ghast, UUID ghastId, HappyGhastTextureVariant variant) {
+        if (variant != null) {
+            NetworkHandler.sendTextureSync(ghast, ghastId, variant);
+        }
+    }
+
     /**
      * Sync texture variant to specific player (SERVER-SIDE ONLY)
      */
@@ -460,15 +519,24 @@ public class HappyGhastTextureManager {
         }
     }
 
+    /**
+     * Force immediate synchronization of a ghast's texture variant using the configured sync mode
+     */
+    public static void forceSyncToClients(Entity ghast) {
+        HappyGhastTextureVariant variant = activeTextureVariants.get(ghast.getUUID());
+        if (variant != null && variant.isLocked) {
+            NetworkHandler.sendTextureSync(ghast, ghast.getUUID(), variant);
+        }
+    }
+
     /**
      * Force synchronization of all texture variants to all clients
      * Used when dimensions change or client needs to be refreshed
      */
     public static void syncAllToClients() {
-        if (!activeTextureVariants.isEmpty()) {
+        if (!activeTextureVariants.isEmpty() && NetworkHandler.usesSyncPackets()) {
             NetworkHandler.sendBulkTextureSyncToAll();
-            System.out.println("GhastTopia: SERVER - Sent bulk texture sync to all clients (" +
-                             activeTextureVariants.size() + " variants)");
+            GhastTopia.LOGGER.debug("Started bulk texture sync to all clients ({} variants)", activeTextureVariants.size());
         }
     }
 
@@ -476,10 +544,10 @@ public class HappyGhastTextureManager {
      * Sync all texture variants to specific player (used when player joins)
      */
     public static void syncAllToPlayer(ServerPlayer player) {
-        if (!activeTextureVariants.isEmpty()) {
+        if (!activeTextureVariants.isEmpty() && NetworkHandler.usesSyncPackets()) {
             NetworkHandler.sendBulkTextureSyncToPlayer(player);
-            System.out.println("GhastTopia: SERVER - Sent bulk texture sync to player " +
-                             player.getName().getString() + " (" + activeTextureVariants.size() + " variants)");
+            GhastTopia.LOGGER.debug("Started bulk texture sync to player {} ({} variants)",
+                player.getName().getString(), activeTextureVariants.size());
         }
     }
 
@@ -502,7 +570,8 @@ public class HappyGhastTextureManager {
         if (clientTextureVariants.containsKey(ghastId)) {
             HappyGhastTextureVariant variant = clientTextureVariants.get(ghastId);
             // Copy to server-side if not already there
-            activeTextureVariants.put(ghastId, variant);
+            storeVariant(ghastId, variant);
+            recordJournalChange(ghastId);
             System.out.println("HappyHaulers: Force-loaded texture variant from client for ghast " + ghastId +
                              " - variant: " + variant.getEffectiveVariant());
             return true;
@@ -511,6 +580,13 @@ public class HappyGhastTextureManager {
         return false; // No variant found
     }
 
+    /**
+     * Get the client-side copy of a single ghast's texture variant (CLIENT-SIDE ONLY)
+     */
+    public static HappyGhastTextureVariant getClientTextureVariant(UUID ghastId) {
+        return clientTextureVariants.get(ghastId);
+    }
+
     /**
      * Get client-side texture variants for rendering
      */
@@ -523,6 +599,38 @@ public class HappyGhastTextureManager {
      */
     public static void clearAll() {
         activeTextureVariants.clear();
+        ghastsByVariant.clear();
+        clientTextureVariants.clear();
+        journal.reset();
+    }
+
+    /**
+     * Get the change journal of the server-side store (SERVER-SIDE ONLY)
+     */
+    public static VariantStoreJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Add variants restored from the local cache to the client-side store, keeping any already present (CLIENT-SIDE ONLY)
+     */
+    public static void mergeClientVariants(Collection<HappyGhastTextureVariant> variants) {
+        for (HappyGhastTextureVariant variant : variants) {
+            clientTextureVariants.putIfAbsent(variant.ghastId, variant);
+        }
+    }
+
+    /**
+     * Remove a single client-side variant (CLIENT-SIDE ONLY)
+     */
+    public static void removeClientVariant(UUID ghastId) {
+        clientTextureVariants.remove(ghastId);
+    }
+
+    /**
+     * Clear the client-side store, e.g. when leaving a server (CLIENT-SIDE ONLY)
+     */
+    public static void clearClientVariants() {
         clientTextureVariants.clear();
     }
 
@@ -543,6 +651,8 @@ public class HappyGhastTextureManager {
         }
 
         nbt.put("TextureVariants", variantList);
+        nbt.put("Journal", journal.toNBT());
+        nbt.put("Residency", GhastResidencyIndex.toNBT());
         nbt.putLong("SaveTime", System.currentTimeMillis());
 
         System.out.println("HappyHaulers: Saved " + variantList.size() + " texture variants to NBT");
@@ -564,9 +674,13 @@ public class HappyGhastTextureManager {
         }
 
         // Only clear existing data on first load
-        if (!dataLoaded) {
+        boolean firstLoad = !dataLoaded;
+        if (firstLoad) {
             activeTextureVariants.clear();
+            ghastsByVariant.clear();
             clientTextureVariants.clear();
+            journal.loadFromNBT(nbt.getCompound("Journal").orElse(new CompoundTag()));
+            GhastResidencyIndex.loadFromNBT(nbt.getList("Residency").orElse(new ListTag()));
             System.out.println("HappyHaulers: Cleared existing texture variant data (first load)");
             dataLoaded = true;
         } else {
@@ -576,6 +690,9 @@ public class HappyGhastTextureManager {
         ListTag variantList = nbt.getList("TextureVariants").orElse(new ListTag());
         System.out.println("HappyHaulers: Found " + variantList.size() + " texture variants in NBT");
 
+        // Stores saved before the residency index have no Residency tag: their ghasts count as unloaded
+        boolean legacyStore = !nbt.contains("Residency");
+
         int loadedCount = 0;
         int skippedCount = 0;
 
@@ -591,8 +708,14 @@ public class HappyGhastTextureManager {
                     continue;
                 }
 
-                // Add to active variants
-                activeTextureVariants.put(variant.ghastId, variant);
+                // Add to active variants (merged-in variants are new to the journal)
+                storeVariant(variant.ghastId, variant);
+                if (!firstLoad) {
+                    recordJournalChange(variant.ghastId);
+                }
+                if (legacyStore) {
+                    GhastResidencyIndex.seedUnloaded(variant.ghastId, variant.levelId);
+                }
 
                 // Sync to client
                 syncToClient(variant.ghastId, variant);
@@ -608,6 +731,28 @@ public class HappyGhastTextureManager {
         }
 
         System.out.println("HappyHaulers: Loaded " + loadedCount + " texture variants from NBT (skipped " + skippedCount + ")");
+
+        // Ghasts that do not join within the grace period are treated as orphans
+        VariantLiveness.onStoreLoaded(activeTextureVariants.keySet());
+    }
+
+    /**
+     * Journal a store change; the journal only serves packet sync modes, so in ENTITY_DATA it is suspended instead
+     */
+    private static void recordJournalChange(UUID ghastId) {
+        if (NetworkHandler.usesSyncPackets()) {
+            journal.recordChange(ghastId);
+        } else {
+            journal.suspend();
+        }
+    }
+
+    private static void recordJournalRemoval(UUID ghastId) {
+        if (NetworkHandler.usesSyncPackets()) {
+            journal.recordRemoval(ghastId);
+        } else {
+            journal.suspend();
+        }
     }
 
     /**
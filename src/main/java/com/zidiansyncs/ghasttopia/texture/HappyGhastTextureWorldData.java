@@ -1,6 +1,7 @@
 package com.zidiansyncs.ghasttopia.texture;
 
 import com.zidiansyncs.ghasttopia.GhastTopia;
+import com.zidiansyncs.ghasttopia.util.MaintenanceExecutor;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.NbtAccounter;
 import net.minecraft.nbt.NbtIo;
@@ -76,23 +77,37 @@ public class HappyGhastTextureWorldData {
     }
 
     /**
-     * Called when a new texture variant is created - save data immediately
+     * Called when a new texture variant is created - schedule a save
      */
     public static void onTextureVariantCreated(ServerLevel level) {
-        saveTextureData(level);
+        requestSave(level);
     }
 
     /**
-     * Called when a texture variant is updated - save data immediately
+     * Called when a texture variant is updated - schedule a save
      */
     public static void onTextureVariantUpdated(ServerLevel level) {
-        saveTextureData(level);
+        requestSave(level);
     }
 
     /**
-     * Called when a texture variant is removed - save data immediately
+     * Called when a texture variant is removed - schedule a save
      */
     public static void onTextureVariantRemoved(ServerLevel level) {
-        saveTextureData(level);
+        requestSave(level);
+    }
+
+    /**
+     * Called on world saves when ghasts moved, loaded or unloaded since the last one - schedule a save
+     */
+    public static void onResidencyChanged(ServerLevel level) {
+        requestSave(level);
+    }
+
+    /**
+     * Queue a save on the maintenance executor; changes made before it runs are written by the same save
+     */
+    private static void requestSave(ServerLevel level) {
+        MaintenanceExecutor.submitOnce(MaintenanceExecutor.Priority.LOW, "save_texture_data", () -> saveTextureData(level));
     }
 }
@@ -0,0 +1,94 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.resources.ResourceLocation;
+
+/**
+ * Texture locations for Happy Ghast variants and the priority rules that pick one
+ *
+ * Shared by the renderer and by the client sync pipeline, which resolves the texture of each received
+ * variant off the render thread (see {@link HappyGhastTextureManager.HappyGhastTextureVariant#getTexture()}).
+ * Only builds ResourceLocations, so it is safe to load on either side.
+ */
+public final class HappyGhastTextures {
+    // TEXTURE STORAGE EXPLANATION:
+    // All textures are stored in: src/main/resources/assets/ghasttopia/textures/entity/ghast/
+    // These ResourceLocation objects point to .png files in that directory
+    // The mod ID "ghasttopia" tells Minecraft to look in our mod's assets folder
+
+    // Default Enhanced Happy Ghast texture - used when no biome variant exists
+    // File location: src/main/resources/assets/ghasttopia/textures/entity/ghast/happy_ghast.png
+    public static final ResourceLocation DEFAULT_TEXTURE =
+        ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "textures/entity/ghast/happy_ghast.png");
+
+    // Special RPG texture - highest priority, used when entity is named "rpg" or "RPG"
+    // File location: src/main/resources/assets/ghasttopia/textures/entity/ghast/rpg_texture.png
+    public static final ResourceLocation RPG_TEXTURE =
+        ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "textures/entity/ghast/rpg_texture.png");
+
+    // Special Excelsies texture - highest priority, used when entity is named "excelsies"
+    // File location: src/main/resources/assets/ghasttopia/textures/entity/ghast/excelsies_texture.png
+    public static final ResourceLocation EXCELSIES_TEXTURE =
+        ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "textures/entity/ghast/excelsies_texture.png");
+
+    // Brown mushroom texture - used for red mushroom ghasts that have been struck by lightning
+    // File location: src/main/resources/assets/happyhaulers/textures/entity/ghast/brown_mushroom_ghast.png
+    public static final ResourceLocation BROWN_MUSHROOM_TEXTURE =
+        ResourceLocation.fromNamespaceAndPath(GhastTopia.MODID, "textures/entity/ghast/brown_mushroom_ghast.png");
+    
+    // Biome textures come from GhastVariant: a stored spawn biome is the canonical key of its variant,
+    // assigned on the server by the datapack rules in BiomeVariantRules
+
+    private HappyGhastTextures() {
+    }
+
+    /**
+     * Resolve the texture of a stored variant
+     */
+    public static ResourceLocation resolve(HappyGhastTextureManager.HappyGhastTextureVariant variant) {
+        return resolve(variant.spawnBiome, variant.hasRpgName, variant.hasExcelsiesName,
+            variant.isMushroomVariant, variant.mushroomType);
+    }
+
+    // TEXTURE SELECTION SYSTEM EXPLANATION:
+    // This method implements a priority-based texture selection system
+    // Higher priority textures override lower priority ones
+    // The system ensures consistent texture selection across all ghasts
+
+    // PERFORMANCE OPTIMIZED: Texture determination helper method
+    public static ResourceLocation resolve(String spawnBiome, boolean hasRpgName, boolean hasExcelsiesName,
+                                           boolean isMushroomVariant, String mushroomType) {
+        // PRIORITY 1: RPG name takes precedence over everything
+        // If entity is named "rpg", always use the special RPG texture
+        // Texture file: src/main/resources/assets/happyhaulers/textures/entity/ghast/rpg_texture.png
+        if (hasRpgName) {
+            return RPG_TEXTURE;
+        }
+
+        // PRIORITY 2: Excelsies name takes precedence over biome variants
+        // If entity is named "excelsies", always use the special Excelsies texture
+        // Texture file: src/main/resources/assets/happyhaulers/textures/entity/ghast/excelsies_texture.png
+        if (hasExcelsiesName) {
+            return EXCELSIES_TEXTURE;
+        }
+
+        // PRIORITY 2.5: Brown mushroom variant takes precedence over biome variants
+        // If mushroom ghast has been struck by lightning, always use brown mushroom texture
+        // Texture file: src/main/resources/assets/happyhaulers/textures/entity/ghast/brown_mushroom_ghast.png
+        if (isMushroomVariant && "brown".equals(mushroomType)) {
+            return BROWN_MUSHROOM_TEXTURE;
+        }
+
+        // PRIORITY 3: Biome-specific texture of the variant the spawn biome key names
+        // Looks up the spawn biome key (e.g., "minecraft:forest") among the GhastVariant keys
+        GhastVariant variant = GhastVariant.byKey(spawnBiome);
+        if (variant != null) {
+            return variant.getTexture();
+        }
+
+        // PRIORITY 4: Default Enhanced Happy Ghast texture as fallback
+        // Used when no biome variant exists or biome detection failed
+        // Texture file: src/main/resources/assets/happyhaulers/textures/entity/ghast/happy_ghast.png
+        return DEFAULT_TEXTURE;
+    }
+}
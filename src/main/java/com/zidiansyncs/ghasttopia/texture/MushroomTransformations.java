@@ -0,0 +1,85 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import com.zidiansyncs.ghasttopia.util.MaintenanceExecutor;
+import com.zidiansyncs.ghasttopia.util.mixin.ILightningTransformable;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.LightningBolt;
+import net.minecraft.world.entity.animal.HappyGhast;
+import net.minecraft.world.phys.Vec3;
+
+/**
+ * Event-driven lightning transformation of red mushroom ghasts (SERVER-SIDE ONLY)
+ *
+ * Instead of every red mushroom ghast searching for bolts and fire every tick, the triggers come to the ghasts:
+ * a lightning bolt joining the level or a fire block being placed looks up the susceptible ghasts around it in the
+ * {@link TransformableGhastIndex}, and a ghast moving to a new block asks the {@link FireSourceIndex} once for
+ * fire that was already burning near its new position.
+ */
+public final class MushroomTransformations {
+
+    // Largest transformation radius of any ghast (adults use 8, babies 6)
+    public static final double MAX_RADIUS = 8.0;
+
+    private MushroomTransformations() {
+    }
+
+    /**
+     * A lightning bolt was added to the level: transform the susceptible ghasts within their radius of it
+     */
+    public static void onLightningBolt(ServerLevel level, LightningBolt bolt) {
+        long gameTime = level.getGameTime();
+        for (HappyGhast ghast : TransformableGhastIndex.findNear(level, bolt.position(), MAX_RADIUS)) {
+            ILightningTransformable transformable = (ILightningTransformable) ghast;
+            if (transformable.ehg$isLightningSusceptible(gameTime)
+                && ghast.distanceTo(bolt) <= transformable.ehg$getLightningRadius()) {
+                GhastTopia.LOGGER.debug("Lightning bolt struck within {} blocks of mushroom ghast {}",
+                    ghast.distanceTo(bolt), ghast.getUUID());
+                queueTransformation(level, ghast, bolt);
+            }
+        }
+    }
+
+    /**
+     * A fire block appeared: queue the susceptible ghasts within their radius of it for transformation
+     * Nothing transforms inside the block change itself; see {@link #queueTransformation}.
+     */
+    public static void onFirePlaced(ServerLevel level, BlockPos firePos) {
+        // Runs inside setBlock: return at once when no mushroom ghast is indexed in this level
+        if (TransformableGhastIndex.size(level) == 0) {
+            return;
+        }
+        long gameTime = level.getGameTime();
+        // One block of slack: the index holds exact positions, the fire check compares block positions
+        for (HappyGhast ghast : TransformableGhastIndex.findNear(level, Vec3.atCenterOf(firePos), MAX_RADIUS + 1)) {
+            ILightningTransformable transformable = (ILightningTransformable) ghast;
+            double radius = transformable.ehg$getLightningRadius();
+            if (transformable.ehg$isLightningSusceptible(gameTime)
+                && ghast.blockPosition().distSqr(firePos) <= radius * radius) {
+                GhastTopia.LOGGER.debug("Fire appeared near mushroom ghast {}", ghast.getUUID());
+                queueTransformation(level, ghast, null);
+            }
+        }
+    }
+
+    /**
+     * Transform a ghast on the maintenance executor, so a storm striking many ghasts spreads over several ticks
+     * The ghast is checked again when the task runs: it may have left, or another bolt may have transformed it.
+     */
+    public static void queueTransformation(ServerLevel level, HappyGhast ghast, LightningBolt bolt) {
+        MaintenanceExecutor.submit(MaintenanceExecutor.Priority.HIGH, "mushroom_transformation", () -> {
+            ILightningTransformable transformable = (ILightningTransformable) ghast;
+            if (!ghast.isRemoved() && ghast.level() == level && transformable.ehg$isLightningSusceptible(level.getGameTime())) {
+                transformable.ehg$handleLightningTransformation(level, bolt);
+            }
+        });
+    }
+
+    /**
+     * True if a fire block burns within {@code radius} of {@code center}, read from the {@link FireSourceIndex}
+     */
+    public static boolean isFireNear(ServerLevel level, BlockPos center, double radius) {
+        return FireSourceIndex.isFireNear(level, center, radius);
+    }
+}
@@ -0,0 +1,38 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+/**
+ * Mushroom ghast types, used where the "red"/"brown" strings need a compact form (e.g. network encoding)
+ */
+public enum MushroomType {
+    RED("red"),
+    BROWN("brown");
+
+    private static final MushroomType[] VALUES = values();
+
+    private final String id;
+
+    MushroomType(String id) {
+        this.id = id;
+    }
+
+    /**
+     * String form stored in texture variants and NBT
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Look up a mushroom type from its string form, defaulting to red like the texture variants do
+     */
+    public static MushroomType fromId(String id) {
+        return "brown".equals(id) ? BROWN : RED;
+    }
+
+    /**
+     * Look up a mushroom type from its ordinal, defaulting to red for unknown values
+     */
+    public static MushroomType byOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < VALUES.length ? VALUES[ordinal] : RED;
+    }
+}
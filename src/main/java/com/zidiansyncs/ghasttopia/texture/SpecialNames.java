@@ -0,0 +1,86 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.network.chat.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Special ghast names and the texture override each one unlocks
+ *
+ * The configured "name=override" entries are compiled once per config load into a hash map keyed by the
+ * lower-cased name, so matching a name is one case-folding and one lookup. Names are only matched when they
+ * change (setCustomName, name tags) or when a ghast is loaded, never polled.
+ */
+public final class SpecialNames {
+
+    /**
+     * Texture override unlocked by a special name
+     */
+    public enum TextureOverride {
+        NONE,
+        RPG,
+        EXCELSIES;
+
+        /**
+         * Parse the override half of a config entry, or null if it names no override
+         */
+        public static TextureOverride fromId(String id) {
+            for (TextureOverride override : values()) {
+                if (override != NONE && override.name().equalsIgnoreCase(id.trim())) {
+                    return override;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static volatile Map<String, TextureOverride> names = Map.of(
+        "rpg", TextureOverride.RPG,
+        "excelsies", TextureOverride.EXCELSIES);
+
+    private SpecialNames() {
+    }
+
+    /**
+     * Texture override for a custom name, or {@link TextureOverride#NONE} for no name or an ordinary one
+     */
+    public static TextureOverride match(Component name) {
+        if (name == null) {
+            return TextureOverride.NONE;
+        }
+        return names.getOrDefault(name.getString().toLowerCase(Locale.ROOT), TextureOverride.NONE);
+    }
+
+    /**
+     * Rebuild the lookup from "name=override" config entries; entries that do not parse are skipped
+     */
+    public static void compile(List<? extends String> entries) {
+        Map<String, TextureOverride> compiled = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.indexOf('=');
+            TextureOverride override = separator > 0 ? TextureOverride.fromId(entry.substring(separator + 1)) : null;
+            if (override == null) {
+                GhastTopia.LOGGER.warn("Ignoring special name entry '{}', expected name=rpg or name=excelsies", entry);
+                continue;
+            }
+            compiled.put(entry.substring(0, separator).trim().toLowerCase(Locale.ROOT), override);
+        }
+        names = compiled;
+    }
+
+    /**
+     * True if a config entry has the "name=override" form
+     */
+    public static boolean isValidEntry(Object entry) {
+        if (!(entry instanceof String string)) {
+            return false;
+        }
+        int separator = string.indexOf('=');
+        return separator > 0 && !string.substring(0, separator).isBlank()
+            && TextureOverride.fromId(string.substring(separator + 1)) != null;
+    }
+}
@@ -0,0 +1,139 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.core.SectionPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.animal.HappyGhast;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-level spatial hash of ghasts that can still be transformed (red mushroom ghasts), keyed by chunk section
+ * (SERVER-SIDE ONLY)
+ *
+ * Ghasts are placed by their block position. A ghast moves between buckets only when it crosses a section
+ * boundary or its transformable state changes, which the ghast's own tick detects with a single long compare,
+ * so keeping the index current costs nothing for ghasts that stay put. Range queries visit only the sections
+ * overlapping the query sphere instead of asking the level for every entity in a box.
+ */
+public final class TransformableGhastIndex {
+
+    // Marker for a ghast that is not in the index
+    public static final long NOT_INDEXED = Long.MIN_VALUE;
+
+    private static final Map<ResourceKey<Level>, LevelIndex> levels = new HashMap<>();
+
+    private static final class LevelIndex {
+        final Long2ObjectMap<Set<HappyGhast>> sections = new Long2ObjectOpenHashMap<>();
+        final Map<HappyGhast, Long> sectionOf = new IdentityHashMap<>();
+    }
+
+    private TransformableGhastIndex() {
+    }
+
+    /**
+     * Section key a ghast should be indexed under, or {@link #NOT_INDEXED} when it is not transformable
+     */
+    public static long keyFor(HappyGhast ghast, boolean transformable) {
+        return transformable ? SectionPos.asLong(ghast.blockPosition()) : NOT_INDEXED;
+    }
+
+    /**
+     * Move a ghast to the bucket for {@code key} (or out of the index for {@link #NOT_INDEXED})
+     */
+    public static void update(ServerLevel level, HappyGhast ghast, long key) {
+        LevelIndex index = levels.computeIfAbsent(level.dimension(), dimension -> new LevelIndex());
+        Long previous = key == NOT_INDEXED ? index.sectionOf.remove(ghast) : index.sectionOf.put(ghast, key);
+        if (previous != null) {
+            if (previous == key) {
+                return;
+            }
+            removeFromSection(index, previous, ghast);
+        }
+        if (key != NOT_INDEXED) {
+            index.sections.computeIfAbsent(key, section -> Collections.newSetFromMap(new IdentityHashMap<>())).add(ghast);
+        }
+    }
+
+    /**
+     * Drop a ghast that left the level
+     */
+    public static void remove(ServerLevel level, HappyGhast ghast) {
+        LevelIndex index = levels.get(level.dimension());
+        if (index == null) {
+            return;
+        }
+        Long previous = index.sectionOf.remove(ghast);
+        if (previous != null) {
+            removeFromSection(index, previous, ghast);
+        }
+    }
+
+    /**
+     * Transformable ghasts whose position is within {@code radius} of {@code center}
+     */
+    public static List<HappyGhast> findNear(ServerLevel level, Vec3 center, double radius) {
+        LevelIndex index = levels.get(level.dimension());
+        if (index == null || index.sectionOf.isEmpty()) {
+            return List.of();
+        }
+
+        List<HappyGhast> found = new ArrayList<>();
+        double radiusSq = radius * radius;
+        int minX = SectionPos.posToSectionCoord(center.x - radius), maxX = SectionPos.posToSectionCoord(center.x + radius);
+        int minY = SectionPos.posToSectionCoord(center.y - radius), maxY = SectionPos.posToSectionCoord(center.y + radius);
+        int minZ = SectionPos.posToSectionCoord(center.z - radius), maxZ = SectionPos.posToSectionCoord(center.z + radius);
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    Set<HappyGhast> ghasts = index.sections.get(SectionPos.asLong(x, y, z));
+                    if (ghasts == null) {
+                        continue;
+                    }
+                    for (HappyGhast ghast : ghasts) {
+                        if (ghast.position().distanceToSqr(center) <= radiusSq) {
+                            found.add(ghast);
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Number of indexed ghasts in a level
+     */
+    public static int size(ServerLevel level) {
+        LevelIndex index = levels.get(level.dimension());
+        return index != null ? index.sectionOf.size() : 0;
+    }
+
+    /**
+     * Forget a level's index when it unloads
+     */
+    public static void clearLevel(ServerLevel level) {
+        levels.remove(level.dimension());
+    }
+
+    public static void clearAll() {
+        levels.clear();
+    }
+
+    private static void removeFromSection(LevelIndex index, long key, HappyGhast ghast) {
+        Set<HappyGhast> ghasts = index.sections.get(key);
+        if (ghasts != null && ghasts.remove(ghast) && ghasts.isEmpty()) {
+            index.sections.remove(key);
+        }
+    }
+}
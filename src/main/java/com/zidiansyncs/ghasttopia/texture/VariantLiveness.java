@@ -0,0 +1,146 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import com.zidiansyncs.ghasttopia.util.MaintenanceExecutor;
+import com.zidiansyncs.ghasttopia.util.TimingWheel;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Expiry of texture variants whose ghast has gone missing (SERVER THREAD ONLY)
+ *
+ * Residency comes from {@link GhastResidencyIndex}. A ghast that is absent (left its level without being saved
+ * with its chunk, or has no known residency when the store is loaded) becomes an orphan candidate and is put on an
+ * expiry wheel; if it has not joined any level when its grace period ends, its variant is removed.
+ * The wheel advances in seconds and holds more slots than the grace period lasts, so an entry is only ever
+ * visited once, when it expires. Ghasts saved with their chunk are not candidates: their variant stays until
+ * they are killed or discarded.
+ */
+public final class VariantLiveness {
+
+    // Same grace period as the old scan: 30 minutes without the ghast showing up
+    public static final int GRACE_SECONDS = 1800;
+
+    // Wheel in seconds; 2048 slots outlast the grace period, so no entry waits a full turn in its slot
+    private static final TimingWheel<UUID> expiries = new TimingWheel<>(2048);
+
+    private static final Map<UUID, TimingWheel.Timeout<UUID>> pending = new HashMap<>();
+
+    private static MinecraftServer server;
+    private static long currentTick;
+    private static long expired;
+
+    private VariantLiveness() {
+    }
+
+    /**
+     * A ghast joined a server level: it is alive, so any pending expiry is cancelled
+     */
+    public static void onJoin(UUID ghastId) {
+        forget(ghastId);
+    }
+
+    /**
+     * A ghast left a server level; if that left it absent it becomes an orphan candidate
+     */
+    public static void onLeave(UUID ghastId, GhastResidencyIndex.Residency residency) {
+        if (residency != null && residency.state() == GhastResidencyIndex.State.ABSENT) {
+            schedule(ghastId);
+        } else if (residency != null && residency.state() == GhastResidencyIndex.State.UNLOADED) {
+            forget(ghastId);
+        }
+    }
+
+    /**
+     * Variants just loaded from disk: those whose ghast has no known residency, or was absent when saved, get a
+     * grace period to show up (ghasts of stores saved before the residency index are seeded as unloaded)
+     */
+    public static void onStoreLoaded(Collection<UUID> ghastIds) {
+        for (UUID ghastId : ghastIds) {
+            GhastResidencyIndex.Residency residency = GhastResidencyIndex.get(ghastId);
+            if (residency == null || residency.state() == GhastResidencyIndex.State.ABSENT) {
+                schedule(ghastId);
+            }
+        }
+    }
+
+    /**
+     * Cancel the pending expiry of a ghast, if any
+     */
+    public static void forget(UUID ghastId) {
+        TimingWheel.Timeout<UUID> timeout = pending.remove(ghastId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Expire the orphan candidates whose grace period ended
+     */
+    public static void tick(MinecraftServer minecraftServer) {
+        server = minecraftServer;
+        currentTick = minecraftServer.getTickCount();
+        expiries.advance(currentTick / 20, VariantLiveness::expire);
+    }
+
+    private static void schedule(UUID ghastId) {
+        forget(ghastId);
+        pending.put(ghastId, expiries.schedule(currentTick / 20 + GRACE_SECONDS, ghastId));
+    }
+
+    private static void expire(UUID ghastId) {
+        pending.remove(ghastId);
+        if (!isAbsent(ghastId)) {
+            return;
+        }
+        if (!HappyGhastTextureManager.hasTextureVariant(ghastId)) {
+            // Nothing to remove but the index entry, or absent ghasts without a variant would pile up forever
+            GhastResidencyIndex.remove(ghastId);
+            return;
+        }
+
+        MaintenanceExecutor.submit(MaintenanceExecutor.Priority.NORMAL, "expire_variant", () -> {
+            if (!isAbsent(ghastId) || pending.containsKey(ghastId) || server == null) {
+                return;
+            }
+            GhastResidencyIndex.Residency residency = GhastResidencyIndex.get(ghastId);
+            GhastTopia.LOGGER.info("Happy Ghast {} missing for {}+ seconds (last seen in {}) - removing texture variant",
+                ghastId, GRACE_SECONDS, residency != null ? residency.levelId() : "no level since load");
+            expired++;
+            GhastResidencyIndex.remove(ghastId);
+            HappyGhastTextureManager.removeTextureVariant(ghastId, server.overworld());
+        });
+    }
+
+    private static boolean isAbsent(UUID ghastId) {
+        GhastResidencyIndex.Residency residency = GhastResidencyIndex.get(ghastId);
+        return residency == null || residency.state() == GhastResidencyIndex.State.ABSENT;
+    }
+
+    /**
+     * Orphan candidates waiting for their grace period to end
+     */
+    public static int getPending() {
+        return pending.size();
+    }
+
+    public static TimingWheel<?> getWheel() {
+        return expiries;
+    }
+
+    public static long getExpired() {
+        return expired;
+    }
+
+    public static void clear() {
+        pending.clear();
+        expiries.clear();
+        server = null;
+        currentTick = 0;
+        expired = 0;
+    }
+}
@@ -0,0 +1,186 @@
+package com.zidiansyncs.ghasttopia.texture;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Change journal of the server-side texture variant store
+ *
+ * Every change bumps the store epoch and stamps the ghast with it; removals leave a tombstone.
+ * A client that was consistent with the store at some epoch can then be brought up to date with
+ * only the variants changed and removed since. Tombstones are bounded: once one is evicted,
+ * clients older than its epoch need a full sync. The store id changes whenever the journal is
+ * started from scratch, so caches from another world (or a wiped one) are never reused.
+ * Server thread only: the network handlers that read it run through {@code enqueueWork}.
+ */
+public class VariantStoreJournal {
+
+    private static final int MAX_TOMBSTONES = 4096;
+
+    private UUID storeId = UUID.randomUUID();
+    private long epoch = 0;
+    private long tombstoneFloor = 0;
+    private final Map<UUID, Long> modifiedEpochs = new HashMap<>();
+    private final LinkedHashMap<UUID, Long> tombstones = new LinkedHashMap<>();
+    private boolean suspended = false;
+
+    public UUID getStoreId() {
+        return storeId;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Record that a ghast's variant was added or changed
+     */
+    public void recordChange(UUID ghastId) {
+        suspended = false;
+        epoch++;
+        modifiedEpochs.put(ghastId, epoch);
+        tombstones.remove(ghastId);
+    }
+
+    /**
+     * Record that a ghast's variant was removed
+     */
+    public void recordRemoval(UUID ghastId) {
+        suspended = false;
+        epoch++;
+        modifiedEpochs.remove(ghastId);
+        tombstones.remove(ghastId);
+        tombstones.put(ghastId, epoch);
+
+        if (tombstones.size() > MAX_TOMBSTONES) {
+            Iterator<Map.Entry<UUID, Long>> eldest = tombstones.entrySet().iterator();
+            tombstoneFloor = Math.max(tombstoneFloor, eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * The store changed without being journaled (ENTITY_DATA mode): start over with a new store id, once, so no
+     * cache from before is ever served a delta that misses the change. Recording resumes with the next change.
+     */
+    public void suspend() {
+        if (!suspended) {
+            reset();
+            suspended = true;
+        }
+    }
+
+    /**
+     * True when a client consistent at the given store and epoch can be served a delta
+     */
+    public boolean canServeDeltaFrom(UUID clientStoreId, long clientEpoch) {
+        return storeId.equals(clientStoreId) && clientEpoch >= tombstoneFloor && clientEpoch <= epoch;
+    }
+
+    /**
+     * Ghasts whose variants were added or changed after the given epoch
+     */
+    public List<UUID> changedSince(long sinceEpoch) {
+        List<UUID> changed = new ArrayList<>();
+        for (Map.Entry<UUID, Long> entry : modifiedEpochs.entrySet()) {
+            if (entry.getValue() > sinceEpoch) {
+                changed.add(entry.getKey());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Ghasts whose variants were removed after the given epoch
+     */
+    public List<UUID> removedSince(long sinceEpoch) {
+        List<UUID> removed = new ArrayList<>();
+        for (Map.Entry<UUID, Long> entry : tombstones.entrySet()) {
+            if (entry.getValue() > sinceEpoch) {
+                removed.add(entry.getKey());
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Start a new journal (new store id) - used when the store is cleared
+     */
+    public void reset() {
+        storeId = UUID.randomUUID();
+        epoch = 0;
+        tombstoneFloor = 0;
+        modifiedEpochs.clear();
+        tombstones.clear();
+    }
+
+    public CompoundTag toNBT() {
+        CompoundTag nbt = new CompoundTag();
+        nbt.putString("StoreId", storeId.toString());
+        nbt.putLong("Epoch", epoch);
+        nbt.putLong("TombstoneFloor", tombstoneFloor);
+
+        ListTag modified = new ListTag();
+        for (Map.Entry<UUID, Long> entry : modifiedEpochs.entrySet()) {
+            modified.add(entryToNBT(entry));
+        }
+        nbt.put("Modified", modified);
+
+        ListTag removed = new ListTag();
+        for (Map.Entry<UUID, Long> entry : tombstones.entrySet()) {
+            removed.add(entryToNBT(entry));
+        }
+        nbt.put("Tombstones", removed);
+        return nbt;
+    }
+
+    /**
+     * Restore a saved journal; ghasts loaded without a journal entry count as changed at epoch 0
+     */
+    public void loadFromNBT(CompoundTag nbt) {
+        reset();
+        String savedStoreId = nbt.getString("StoreId").orElse("");
+        if (savedStoreId.isEmpty()) {
+            return;
+        }
+
+        try {
+            storeId = UUID.fromString(savedStoreId);
+        } catch (IllegalArgumentException e) {
+            GhastTopia.LOGGER.warn("Invalid variant journal store id, starting a new journal: {}", e.getMessage());
+            return;
+        }
+        epoch = nbt.getLong("Epoch").orElse(0L);
+        tombstoneFloor = nbt.getLong("TombstoneFloor").orElse(0L);
+
+        loadEntries(nbt.getList("Modified").orElse(new ListTag()), modifiedEpochs);
+        loadEntries(nbt.getList("Tombstones").orElse(new ListTag()), tombstones);
+    }
+
+    private static void loadEntries(ListTag list, Map<UUID, Long> epochs) {
+        for (int i = 0; i < list.size(); i++) {
+            CompoundTag entry = list.getCompound(i).orElse(new CompoundTag());
+            try {
+                epochs.put(UUID.fromString(entry.getString("GhastId").orElse("")), entry.getLong("Epoch").orElse(0L));
+            } catch (IllegalArgumentException e) {
+                GhastTopia.LOGGER.warn("Skipping invalid variant journal entry: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static CompoundTag entryToNBT(Map.Entry<UUID, Long> entry) {
+        CompoundTag tag = new CompoundTag();
+        tag.putString("GhastId", entry.getKey().toString());
+        tag.putLong("Epoch", entry.getValue());
+        return tag;
+    }
+}
@@ -0,0 +1,187 @@
+package com.zidiansyncs.ghasttopia.util;
+
+import com.zidiansyncs.ghasttopia.GhastTopia;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Time-budgeted executor for GhastTopia maintenance work on the server tick (SERVER THREAD ONLY)
+ *
+ * Work that does not have to happen in the tick that caused it (saves, cleanup, lightning transformations) is
+ * queued by priority. Each tick, {@link #run} takes tasks highest priority first until the per-tick budget is
+ * used, and leaves the rest for the following ticks, so a thunderstorm or a cleanup pass landing in the same
+ * tick cannot push the server past its tick time. A task is never interrupted: one that runs past the budget is
+ * counted as an overrun. At least one task runs per tick so the backlog always drains.
+ */
+public final class MaintenanceExecutor {
+
+    public enum Priority {
+        HIGH,    // Gameplay-visible work, e.g. lightning transformations
+        NORMAL,  // Bookkeeping, e.g. variant cleanup
+        LOW      // Work that only has to happen eventually, e.g. saves
+    }
+
+    private record Task(String name, Runnable action, long queuedAtTick) {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static final ArrayDeque<Task>[] queues = new ArrayDeque[Priority.values().length];
+
+    static {
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+    }
+
+    // Keys of coalesced tasks currently queued (see submitOnce)
+    private static final Set<String> pendingKeys = new HashSet<>();
+
+    private static long currentTick;
+
+    // Metrics
+    private static long tasksRun;
+    private static long ticksWithWork;
+    private static long deferredTicks;
+    private static long overruns;
+    private static long overrunNanos;
+    private static long busyNanos;
+    private static int maxBacklog;
+    private static long maxWaitTicks;
+    private static long coalesced;
+
+    private MaintenanceExecutor() {
+    }
+
+    /**
+     * Queue a task for a later tick
+     */
+    public static void submit(Priority priority, String name, Runnable action) {
+        queues[priority.ordinal()].add(new Task(name, action, currentTick));
+        maxBacklog = Math.max(maxBacklog, getBacklog());
+    }
+
+    /**
+     * Queue a task unless one with the same key is already waiting; repeated requests merge into one run
+     */
+    public static void submitOnce(Priority priority, String key, Runnable action) {
+        if (!pendingKeys.add(key)) {
+            coalesced++;
+            return;
+        }
+        submit(priority, key, () -> {
+            pendingKeys.remove(key);
+            action.run();
+        });
+    }
+
+    /**
+     * Run queued tasks until {@code budgetNanos} is used; the rest waits for the next tick
+     */
+    public static void run(long tick, long budgetNanos) {
+        currentTick = tick;
+        if (getBacklog() == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long elapsed = 0;
+        boolean ranAny = false;
+        for (ArrayDeque<Task> queue : queues) {
+            while (!queue.isEmpty() && (!ranAny || elapsed < budgetNanos)) {
+                Task task = queue.poll();
+                try {
+                    task.action().run();
+                } catch (RuntimeException e) {
+                    GhastTopia.LOGGER.error("GhastTopia maintenance task '{}' failed", task.name(), e);
+                }
+                ranAny = true;
+                tasksRun++;
+                maxWaitTicks = Math.max(maxWaitTicks, tick - task.queuedAtTick());
+                elapsed = System.nanoTime() - start;
+            }
+        }
+
+        ticksWithWork++;
+        busyNanos += elapsed;
+        if (elapsed > budgetNanos) {
+            overruns++;
+            overrunNanos += elapsed - budgetNanos;
+        }
+        if (getBacklog() > 0) {
+            deferredTicks++;
+        }
+    }
+
+    /**
+     * Tasks waiting across all priorities
+     */
+    public static int getBacklog() {
+        int backlog = 0;
+        for (ArrayDeque<Task> queue : queues) {
+            backlog += queue.size();
+        }
+        return backlog;
+    }
+
+    public static int getBacklog(Priority priority) {
+        return queues[priority.ordinal()].size();
+    }
+
+    public static long getTasksRun() {
+        return tasksRun;
+    }
+
+    public static long getTicksWithWork() {
+        return ticksWithWork;
+    }
+
+    public static long getDeferredTicks() {
+        return deferredTicks;
+    }
+
+    public static long getOverruns() {
+        return overruns;
+    }
+
+    public static long getOverrunNanos() {
+        return overrunNanos;
+    }
+
+    public static long getBusyNanos() {
+        return busyNanos;
+    }
+
+    public static int getMaxBacklog() {
+        return maxBacklog;
+    }
+
+    public static long getMaxWaitTicks() {
+        return maxWaitTicks;
+    }
+
+    public static long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * Drop all queued work and reset the metrics (server stop)
+     */
+    public static void clear() {
+        for (ArrayDeque<Task> queue : queues) {
+            queue.clear();
+        }
+        pendingKeys.clear();
+        currentTick = 0;
+        tasksRun = 0;
+        ticksWithWork = 0;
+        deferredTicks = 0;
+        overruns = 0;
+        overrunNanos = 0;
+        busyNanos = 0;
+        maxBacklog = 0;
+        maxWaitTicks = 0;
+        coalesced = 0;
+    }
+}
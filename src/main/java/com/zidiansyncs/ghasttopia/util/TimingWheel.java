@@ -0,0 +1,168 @@
+package com.zidiansyncs.ghasttopia.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel keyed by server tick (SERVER THREAD ONLY)
+ *
+ * Entries are hashed into one of a power-of-two number of slots by their deadline tick. Advancing the wheel
+ * visits only the slots of the ticks that passed; entries whose deadline lies a full turn or more ahead stay in
+ * their slot until that turn comes around. Cancelled entries are dropped the next time their slot is visited.
+ */
+public final class TimingWheel<T> {
+
+    /**
+     * A scheduled entry
+     */
+    public static final class Timeout<T> {
+        private final long deadline;
+        private final T payload;
+        private boolean cancelled;
+
+        private Timeout(long deadline, T payload) {
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public T getPayload() {
+            return payload;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private final List<Timeout<T>>[] slots;
+    private final int mask;
+    private long currentTick = -1;
+    private int size;
+    private int lastFired;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int slotCount) {
+        if (Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Slot count must be a power of two: " + slotCount);
+        }
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.mask = slotCount - 1;
+    }
+
+    /**
+     * Schedule a payload for {@code deadline}; deadlines that already passed fire on the next advance
+     */
+    public Timeout<T> schedule(long deadline, T payload) {
+        Timeout<T> timeout = new Timeout<>(Math.max(deadline, currentTick + 1), payload);
+        slots[(int) (timeout.deadline & mask)].add(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Fire every entry due up to and including {@code tick}
+     * Entries scheduled by the consumer for ticks already passed fire on the next advance.
+     */
+    public void advance(long tick, Consumer<T> consumer) {
+        if (currentTick < 0) {
+            currentTick = tick - 1;
+        }
+        // After a long stall, one full turn visits every slot
+        long from = Math.max(currentTick + 1, tick - mask);
+        int fired = 0;
+        for (long t = from; t <= tick; t++) {
+            List<Timeout<T>> slot = slots[(int) (t & mask)];
+            if (slot.isEmpty()) {
+                continue;
+            }
+            List<Timeout<T>> due = null;
+            for (Iterator<Timeout<T>> iterator = slot.iterator(); iterator.hasNext(); ) {
+                Timeout<T> timeout = iterator.next();
+                if (timeout.cancelled) {
+                    iterator.remove();
+                    size--;
+                } else if (timeout.deadline <= tick) {
+                    iterator.remove();
+                    size--;
+                    if (due == null) {
+                        due = new ArrayList<>();
+                    }
+                    due.add(timeout);
+                }
+            }
+            if (due != null) {
+                currentTick = t;
+                for (Timeout<T> timeout : due) {
+                    consumer.accept(timeout.payload);
+                }
+                fired += due.size();
+            }
+        }
+        currentTick = tick;
+        lastFired = fired;
+    }
+
+    /**
+     * Live entries due exactly at {@code tick}
+     */
+    public int dueAt(long tick) {
+        int count = 0;
+        for (Timeout<T> timeout : slots[(int) (tick & mask)]) {
+            if (!timeout.cancelled && timeout.deadline == tick) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Entries held per slot, cancelled ones included until their slot is visited
+     */
+    public int slotSize(int slot) {
+        return slots[slot & mask].size();
+    }
+
+    public int getSlotCount() {
+        return slots.length;
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Entries held by the wheel, cancelled ones included until their slot is visited
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Entries fired by the last advance
+     */
+    public int getLastFired() {
+        return lastFired;
+    }
+
+    public void clear() {
+        for (List<Timeout<T>> slot : slots) {
+            slot.clear();
+        }
+        size = 0;
+        lastFired = 0;
+        currentTick = -1;
+    }
+}
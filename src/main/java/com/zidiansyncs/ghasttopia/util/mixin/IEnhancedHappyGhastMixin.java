@@ -18,6 +18,7 @@ public interface IEnhancedHappyGhastMixin {
     // Used to track special "excelsies" naming for highest priority texture override
     boolean ehg$hasExcelsiesName();                // Returns true if entity is named "excelsies"
     void ehg$setHasExcelsiesName(boolean hasExcelsiesName); // Sets the Excelsies name status
+    void ehg$refreshSpecialName();                 // Re-matches the custom name against the configured special names
 
     // Rideable state methods
     // Used to track whether a player is currently riding this Enhanced Happy Ghast
@@ -35,4 +36,13 @@ public interface IEnhancedHappyGhastMixin {
     void ehg$setMushroomVariant(boolean isMushroomVariant); // Sets the mushroom variant status
     String ehg$getMushroomType();                  // Returns "red" or "brown" mushroom type
     void ehg$setMushroomType(String mushroomType); // Sets the mushroom type ("red" or "brown")
+
+    // Locked variant methods
+    // Used to tell the renderer the variant data above is final (server-assigned and synced)
+    boolean ehg$hasLockedVariant();                // Returns true if this ghast has a locked texture variant
+    void ehg$setHasLockedVariant(boolean hasLockedVariant); // Sets the locked variant status
+
+    // Variant classification
+    // Used by the server on every level join (spawn, load, dimension change) to restore or assign the variant
+    void ehg$classifyVariant();                    // Restores a locked variant, or classifies and locks a new one
 }
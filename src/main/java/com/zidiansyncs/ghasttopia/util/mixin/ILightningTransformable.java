@@ -0,0 +1,15 @@
+package com.zidiansyncs.ghasttopia.util.mixin;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.LightningBolt;
+
+public interface ILightningTransformable {
+
+    // Lightning transformation methods
+    // Used by the lightning and fire events to transform red mushroom ghasts without per-tick polling
+    boolean ehg$isTransformable();                     // True for red mushroom ghasts (kept in the TransformableGhastIndex)
+    boolean ehg$isLightningSusceptible(long gameTime); // True for red mushroom ghasts whose transformation cooldown has passed
+    double ehg$getLightningRadius();                   // Distance within which lightning or fire transforms this ghast
+    void ehg$handleLightningTransformation(ServerLevel serverLevel, LightningBolt lightningBolt); // Bolt is null for fire
+    void ehg$debugTransformToBrown();                  // Transform immediately, used by /mushroom_transform
+}